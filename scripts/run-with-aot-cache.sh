@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Starts the application with the JDK AOT cache built by: ./mvnw -Paot-cache package
+# Extra arguments are passed to the JVM, e.g. scripts/run-with-aot-cache.sh -Xmx512m
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+AOT_DIR=target/aot-cache
+JAR=$(find "$AOT_DIR" -maxdepth 1 -name 'feature-service-*.jar' | head -n 1)
+
+if [[ -z "$JAR" || ! -f "$AOT_DIR/app.aot" ]]; then
+  echo "No AOT cache found in $AOT_DIR, build it with: ./mvnw -Paot-cache package" >&2
+  exit 1
+fi
+
+exec java -XX:AOTCache="$AOT_DIR/app.aot" -Dspring.aot.enabled=true "$@" -jar "$JAR"
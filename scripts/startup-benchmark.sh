@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Compares the time-to-ready of the application started from the fat jar and with the AOT cache.
+# Requires the jar and the cache built by: ./mvnw -Paot-cache package
+# and the dependent services (PostgreSQL, Kafka, Keycloak) to be running.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+READY_URL=${READY_URL:-http://localhost:8081/actuator/health/readiness}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+FAT_JAR=$(find target -maxdepth 1 -name 'feature-service-*.jar' | head -n 1)
+
+now_ms() {
+  date +%s%3N
+}
+
+# Starts the command in the background and prints the milliseconds until READY_URL answers 200.
+time_to_ready() {
+  local start pid
+  start=$(now_ms)
+  "$@" >/dev/null 2>&1 &
+  pid=$!
+  while [[ "$(curl -s -o /dev/null -w '%{http_code}' "$READY_URL")" != "200" ]]; do
+    if ! kill -0 "$pid" 2>/dev/null || (($(now_ms) - start > TIMEOUT_SECONDS * 1000)); then
+      kill "$pid" 2>/dev/null || true
+      echo "Application did not become ready, run it in the foreground to see why" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  echo $(($(now_ms) - start))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+benchmark() {
+  local name=$1
+  shift
+  local times=()
+  for ((i = 1; i <= RUNS; i++)); do
+    times+=("$(time_to_ready "$@")")
+  done
+  local sorted
+  sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+  printf '%-12s median %6d ms   min %6d ms   max %6d ms\n' "$name" \
+    "$(sed -n "$(((RUNS + 1) / 2))p" <<<"$sorted")" "$(head -n 1 <<<"$sorted")" "$(tail -n 1 <<<"$sorted")"
+}
+
+benchmark "fat jar" java -jar "$FAT_JAR"
+benchmark "aot cache" scripts/run-with-aot-cache.sh
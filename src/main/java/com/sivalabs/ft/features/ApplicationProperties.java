@@ -1,9 +1,162 @@
 package com.sivalabs.ft.features;
 
+import java.time.Duration;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "ft")
-public record ApplicationProperties(EventsProperties events) {
+public record ApplicationProperties(
+        EventsProperties events,
+        @DefaultValue FeaturesProperties features,
+        @DefaultValue ReleasesProperties releases,
+        @DefaultValue ObservabilityProperties observability,
+        @DefaultValue SecurityProperties security,
+        @DefaultValue RateLimitProperties rateLimit,
+        @DefaultValue IdempotencyProperties idempotency,
+        @DefaultValue ResponseCacheProperties responseCache,
+        @DefaultValue ReplicaProperties replicas,
+        @DefaultValue ConfigSnapshotProperties configSnapshot,
+        @DefaultValue TrafficCaptureProperties trafficCapture,
+        @DefaultValue DbPoolProperties dbPool) {
 
     public record EventsProperties(String newFeatures, String updatedFeatures, String deletedFeatures) {}
+
+    public record FeaturesProperties(@DefaultValue("500") int deletionChunkSize) {}
+
+    public record ReleasesProperties(@DefaultValue("500") int deletionChunkSize) {}
+
+    /**
+     * @param queryBudget maximum number of SQL statements a single request is expected to execute
+     * @param queryBudgetEnforced whether a request fails as soon as it goes over the query budget, instead of only
+     *     being reported; meant for tests and pre-production environments
+     */
+    public record ObservabilityProperties(
+            @DefaultValue("25") int queryBudget, @DefaultValue("false") boolean queryBudgetEnforced) {}
+
+    /**
+     * @param jwtCacheMaxSize maximum number of validated tokens kept in memory
+     * @param jwtCacheMaxTtl how long a validated token is kept at most, even if it expires later
+     * @param jwksSnapshot file the signing keys are loaded from at startup and saved to after each refresh
+     * @param jwksRefreshInterval how often the signing keys are refreshed in the background
+     * @param jwksRefreshJitter maximum random delay added to each refresh
+     * @param jwksMinRefreshInterval minimum time between two refreshes triggered by tokens signed with unknown keys
+     */
+    public record SecurityProperties(
+            @DefaultValue("10000") long jwtCacheMaxSize,
+            @DefaultValue("PT5M") Duration jwtCacheMaxTtl,
+            @DefaultValue("config/jwks.json") String jwksSnapshot,
+            @DefaultValue("PT15M") Duration jwksRefreshInterval,
+            @DefaultValue("PT1M") Duration jwksRefreshJitter,
+            @DefaultValue("PT30S") Duration jwksMinRefreshInterval) {}
+
+    /**
+     * Token bucket limits applied to the write requests of each user on each route.
+     *
+     * @param capacity number of requests a client can burst
+     * @param refillPerSecond sustained number of requests per second
+     * @param maxBuckets maximum number of buckets kept in memory
+     * @param idleTimeout time after which the bucket of an idle client is dropped
+     */
+    public record RateLimitProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("20") int capacity,
+            @DefaultValue("5") double refillPerSecond,
+            @DefaultValue("100000") long maxBuckets,
+            @DefaultValue("PT10M") Duration idleTimeout) {}
+
+    /**
+     * @param ttl how long the response of a request is replayed for the same Idempotency-Key
+     * @param inProgressTimeout after how long the claim of a request that never completed can be taken over
+     * @param cacheMaxSize maximum number of responses also kept in memory
+     */
+    public record IdempotencyProperties(
+            @DefaultValue("PT24H") Duration ttl,
+            @DefaultValue("PT1M") Duration inProgressTimeout,
+            @DefaultValue("10000") long cacheMaxSize) {}
+
+    /**
+     * @param maxSize maximum number of serialized responses kept in memory
+     * @param gzipMinSize size from which a serialized response is also kept gzip compressed
+     * @param ttl how long a serialized response is kept at most, even if the catalog did not change
+     */
+    public record ResponseCacheProperties(
+            @DefaultValue("1000") long maxSize,
+            @DefaultValue("1024") int gzipMinSize,
+            @DefaultValue("PT1M") Duration ttl) {}
+
+    /**
+     * @param urls JDBC URLs of the read replicas; read-only transactions stay on the primary when empty
+     * @param healthCheckInterval how often the reachability and the lag of the replicas are checked
+     * @param maxLag replication lag from which a replica gets no traffic until it catches up
+     * @param readYourWritesWindow how long after a write the requests presenting its consistency token read from the
+     *     primary; at least {@code maxLag} plus {@code healthCheckInterval}, the longest a used replica can lag behind
+     */
+    public record ReplicaProperties(
+            @DefaultValue List<String> urls,
+            @DefaultValue("PT5S") Duration healthCheckInterval,
+            @DefaultValue("PT10S") Duration maxLag,
+            @DefaultValue("PT15S") Duration readYourWritesWindow) {
+
+        public ReplicaProperties {
+            if (readYourWritesWindow.compareTo(maxLag.plus(healthCheckInterval)) < 0) {
+                throw new IllegalArgumentException(
+                        "ft.replicas.read-your-writes-window (%s) must be at least ft.replicas.max-lag (%s) plus ft.replicas.health-check-interval (%s)"
+                                .formatted(readYourWritesWindow, maxLag, healthCheckInterval));
+            }
+        }
+    }
+
+    /**
+     * @param enabled whether the configuration is fetched from the config server once the application is ready
+     * @param serverUri URI of the config server
+     * @param file local snapshot of the fetched configuration, imported at startup
+     * @param timeout connect and read timeout of the config server requests
+     */
+    public record ConfigSnapshotProperties(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("http://localhost:8888") String serverUri,
+            @DefaultValue("config/config-snapshot.properties") String file,
+            @DefaultValue("PT5S") Duration timeout) {}
+
+    /**
+     * @param enabled whether the API requests are recorded, to be replayed later
+     * @param file NDJSON file the requests are appended to
+     * @param maxBodySize size above which a request body is not recorded
+     * @param queueCapacity number of requests waiting to be written, above which requests are not recorded
+     * @param redactedFields query parameters and JSON body fields whose values are not recorded
+     * @param pseudonymKey secret key of the HMAC turning user names into pseudonyms, required when enabled; the same
+     *     key gives the same pseudonyms across captures, and without it the pseudonyms cannot be linked to users
+     */
+    public record TrafficCaptureProperties(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("traffic/capture.ndjson") String file,
+            @DefaultValue("16384") int maxBodySize,
+            @DefaultValue("10000") int queueCapacity,
+            @DefaultValue({"password", "token", "secret", "email"}) List<String> redactedFields,
+            String pseudonymKey) {
+
+        public TrafficCaptureProperties {
+            if (enabled && (pseudonymKey == null || pseudonymKey.isBlank())) {
+                throw new IllegalArgumentException(
+                        "ft.traffic-capture.pseudonym-key is required when the traffic capture is enabled");
+            }
+        }
+    }
+
+    /**
+     * @param waitBudget average time to get a connection from the pool above which the pool is considered saturated
+     * @param waitWindow time over which the average connection wait is computed, older waits count less and less
+     * @param limiterEnabled whether API requests are rejected with a 503 beyond the concurrency limit
+     * @param initialLimit number of concurrent API requests allowed at startup
+     * @param minLimit number of concurrent API requests always allowed, however saturated the pool
+     * @param maxLimit maximum number of concurrent API requests allowed, however fast the pool
+     */
+    public record DbPoolProperties(
+            @DefaultValue("PT0.1S") Duration waitBudget,
+            @DefaultValue("PT5S") Duration waitWindow,
+            @DefaultValue("true") boolean limiterEnabled,
+            @DefaultValue("50") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("400") int maxLimit) {}
 }
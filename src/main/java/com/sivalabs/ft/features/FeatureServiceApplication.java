@@ -1,16 +1,26 @@
 package com.sivalabs.ft.features;
 
+import com.sivalabs.ft.features.domain.NaturalIdRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ConfigurationPropertiesScan
 @EnableScheduling
+@EnableAsync
+@EnableJpaRepositories(repositoryBaseClass = NaturalIdRepositoryImpl.class)
 public class FeatureServiceApplication {
+    private static final int STARTUP_STEPS_CAPACITY = 10_000;
 
     public static void main(String[] args) {
-        SpringApplication.run(FeatureServiceApplication.class, args);
+        var application = new SpringApplication(FeatureServiceApplication.class);
+        // keeps the startup steps timeline, served by the startup actuator endpoint
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
     }
 }
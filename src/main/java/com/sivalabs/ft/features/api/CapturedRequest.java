@@ -0,0 +1,27 @@
+package com.sivalabs.ft.features.api;
+
+import java.time.Instant;
+
+/**
+ * A request recorded by {@link TrafficCaptureFilter}, one line of the capture file.
+ *
+ * @param timestamp when the request was received
+ * @param method HTTP method
+ * @param path request path, without the query
+ * @param query query string with the redacted parameters masked, null without query
+ * @param user pseudonym of the authenticated user, the same for all the requests of a user, null if anonymous
+ * @param contentType content type of the body, null without body
+ * @param body body with the redacted fields masked, null if empty, larger than the maximum size or not JSON
+ * @param status status of the response
+ * @param durationMicros time taken to handle the request
+ */
+public record CapturedRequest(
+        Instant timestamp,
+        String method,
+        String path,
+        String query,
+        String user,
+        String contentType,
+        String body,
+        int status,
+        long durationMicros) {}
@@ -3,11 +3,17 @@ package com.sivalabs.ft.features.api;
 import static org.springframework.http.HttpStatus.*;
 
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ConflictException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
+import com.sivalabs.ft.features.domain.exceptions.ServiceUnavailableException;
+import com.sivalabs.ft.features.domain.exceptions.TooManyRequestsException;
+import com.sivalabs.ft.features.domain.exceptions.UnprocessableEntityException;
 import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -42,4 +48,46 @@ class GlobalExceptionHandler {
         problemDetail.setProperty("timestamp", Instant.now());
         return problemDetail;
     }
+
+    @ExceptionHandler(ConflictException.class)
+    ProblemDetail handle(ConflictException e) {
+        log.warn(e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(CONFLICT, e.getMessage());
+        problemDetail.setTitle("Conflict");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    ProblemDetail handle(UnprocessableEntityException e) {
+        log.warn(e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(UNPROCESSABLE_ENTITY, e.getMessage());
+        problemDetail.setTitle("Unprocessable Entity");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    ResponseEntity<ProblemDetail> handle(TooManyRequestsException e) {
+        log.warn(e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(TOO_MANY_REQUESTS, e.getMessage());
+        problemDetail.setTitle("Too Many Requests");
+        problemDetail.setProperty("timestamp", Instant.now());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    ResponseEntity<ProblemDetail> handle(ServiceUnavailableException e) {
+        log.warn(e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(SERVICE_UNAVAILABLE, e.getMessage());
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setProperty("timestamp", Instant.now());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(problemDetail);
+    }
 }
@@ -0,0 +1,42 @@
+package com.sivalabs.ft.features.api;
+
+import com.sivalabs.ft.features.api.ServerTimings.Category;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Attributes the time spent in repositories, the event publisher and the mappers to the current request.
+ */
+@Aspect
+public class ServerTimingAspect {
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, Category.DB);
+    }
+
+    @Around("execution(* com.sivalabs.ft.features.domain.events.EventPublisher.*(..))")
+    public Object timeEventPublisher(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, Category.KAFKA);
+    }
+
+    @Around("execution(* com.sivalabs.ft.features.domain.mappers.*.*(..))")
+    public Object timeMapper(ProceedingJoinPoint pjp) throws Throwable {
+        return time(pjp, Category.MAPPING);
+    }
+
+    private static Object time(ProceedingJoinPoint pjp, Category category) throws Throwable {
+        ServerTimings timings = ServerTimings.current();
+        if (timings == null) {
+            return pjp.proceed();
+        }
+        boolean outermost = timings.enter(category);
+        long start = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            timings.exit(category, outermost, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sivalabs.ft.features.api;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Adds a {@code Server-Timing} header with the time breakdown collected in {@link ServerTimings}.
+ * The header is written just before the response body, while headers can still be changed.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTimings timings = ServerTimings.start();
+        var wrapper = new ServerTimingResponseWrapper(response, timings);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.writeHeader();
+            ServerTimings.clear();
+        }
+    }
+
+    private static class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+        private final ServerTimings timings;
+        private boolean headerWritten;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, ServerTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue());
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+}
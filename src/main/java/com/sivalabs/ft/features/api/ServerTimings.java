@@ -0,0 +1,68 @@
+package com.sivalabs.ft.features.api;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request accumulator of the time spent in the database, in Kafka and in mapping.
+ * Bound to the request thread by {@link ServerTimingFilter}; work done on other threads is not counted.
+ */
+public final class ServerTimings {
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+
+    public enum Category {
+        DB("db"),
+        KAFKA("kafka"),
+        MAPPING("mapping");
+
+        private final String metricName;
+
+        Category(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Category, Long> durations = new EnumMap<>(Category.class);
+    private final Map<Category, Integer> depths = new EnumMap<>(Category.class);
+
+    static ServerTimings start() {
+        ServerTimings timings = new ServerTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static ServerTimings current() {
+        return CURRENT.get();
+    }
+
+    /** Returns true if this is the outermost call of the category, the only one that should be timed. */
+    public boolean enter(Category category) {
+        return depths.merge(category, 1, Integer::sum) == 1;
+    }
+
+    public void exit(Category category, boolean outermost, long elapsedNanos) {
+        depths.merge(category, -1, Integer::sum);
+        if (outermost) {
+            durations.merge(category, elapsedNanos, Long::sum);
+        }
+    }
+
+    String toHeaderValue() {
+        String parts = durations.entrySet().stream()
+                .map(e -> metric(e.getKey().metricName, e.getValue()))
+                .collect(Collectors.joining(", "));
+        String total = metric("total", System.nanoTime() - startNanos);
+        return parts.isEmpty() ? total : parts + ", " + total;
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1_000_000.0);
+    }
+}
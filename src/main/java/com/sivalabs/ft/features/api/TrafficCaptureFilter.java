@@ -0,0 +1,161 @@
+package com.sivalabs.ft.features.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sivalabs.ft.features.api.utils.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * Records the API requests with {@link TrafficCaptureWriter}, to replay them against another instance.
+ * <p>
+ * Nothing that authenticates a client is recorded: no header, the user is replaced by a pseudonym and the values of
+ * the redacted query parameters and JSON fields are masked. The pseudonym is an HMAC of the user name, keyed by a
+ * secret that is not part of the capture, so that it cannot be reversed by hashing candidate user names. The body is recorded as read by the application, up to
+ * the maximum size. The filter must run after the Spring Security filters for the user to be known.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    static final String REDACTED = "***";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final TrafficCaptureWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int maxBodySize;
+    private final Set<String> redactedFields;
+    private final SecretKeySpec pseudonymKey;
+
+    public TrafficCaptureFilter(
+            TrafficCaptureWriter writer,
+            ObjectMapper objectMapper,
+            int maxBodySize,
+            Collection<String> redactedFields,
+            String pseudonymKey) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.maxBodySize = maxBodySize;
+        this.redactedFields =
+                redactedFields.stream().map(f -> f.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        this.pseudonymKey = secretKey(pseudonymKey);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Instant timestamp = Instant.now();
+        long start = System.nanoTime();
+        var wrapper = new ContentCachingRequestWrapper(request, maxBodySize);
+        try {
+            filterChain.doFilter(wrapper, response);
+        } finally {
+            long durationMicros = (System.nanoTime() - start) / 1000;
+            writer.submit(new CapturedRequest(
+                    timestamp,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    redactQuery(request.getQueryString()),
+                    pseudonym(pseudonymKey, SecurityUtils.getCurrentUsername()),
+                    request.getContentType(),
+                    body(wrapper),
+                    response.getStatus(),
+                    durationMicros));
+        }
+    }
+
+    private String redactQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String decodedName = URLDecoder.decode(name, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+            parameters.add(separator >= 0 && redactedFields.contains(decodedName) ? name + "=" + REDACTED : parameter);
+        }
+        return String.join("&", parameters);
+    }
+
+    private String body(ContentCachingRequestWrapper request) {
+        byte[] content = request.getContentAsByteArray();
+        if (content.length == 0
+                || content.length >= maxBodySize
+                || request.getContentLengthLong() >= maxBodySize
+                || !isJson(request.getContentType())) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(content);
+            redact(json);
+            return objectMapper.writeValueAsString(json);
+        } catch (IOException e) {
+            // not recorded rather than recorded unredacted
+            return null;
+        }
+    }
+
+    private void redact(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                if (redactedFields.contains(field.getKey().toLowerCase(Locale.ROOT))) {
+                    field.setValue(object.textNode(REDACTED));
+                } else {
+                    redact(field.getValue());
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(this::redact);
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            return contentType != null
+                    && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces a user name by a pseudonym that stays the same across requests and captures made with the same key,
+     * so that the requests of a user can still be replayed as the requests of one user.
+     */
+    static String pseudonym(SecretKeySpec key, String username) {
+        if (username == null) {
+            return null;
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            byte[] hash = mac.doFinal(username.getBytes(StandardCharsets.UTF_8));
+            return "user-" + HexFormat.of().formatHex(hash, 0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static SecretKeySpec secretKey(String key) {
+        return new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sivalabs.ft.features.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends {@link CapturedRequest captured requests} to an NDJSON file from a background thread, so that request
+ * threads never wait for the disk. When the queue is full, requests are dropped rather than slowing down the traffic
+ * being recorded; they are counted in {@code ft.traffic.capture.requests{outcome=DROPPED}}.
+ */
+public class TrafficCaptureWriter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TrafficCaptureWriter.class);
+
+    private final Path file;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final ObjectMapper objectMapper;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    public TrafficCaptureWriter(Path file, int queueCapacity, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.objectMapper = objectMapper;
+        this.recorded = counter(meterRegistry, "RECORDED");
+        this.dropped = counter(meterRegistry, "DROPPED");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the directory of " + file, e);
+        }
+        this.writerThread = Thread.ofPlatform().name("traffic-capture").daemon().start(this::writeRequests);
+        log.info("Recording the API requests to {}", file.toAbsolutePath());
+    }
+
+    void submit(CapturedRequest request) {
+        if (closed || !queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeRequests() {
+        try (BufferedWriter writer = Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (!closed || !queue.isEmpty()) {
+                CapturedRequest request = queue.poll(1, TimeUnit.SECONDS);
+                if (request != null) {
+                    write(writer, request);
+                }
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Recording of the API requests to {} stopped", file, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(BufferedWriter writer, CapturedRequest request) throws IOException {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot record {} {}", request.method(), request.path(), e);
+            dropped.increment();
+            return;
+        }
+        writer.write(line);
+        writer.newLine();
+        recorded.increment();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ft.traffic.capture.requests")
+                .description("API requests recorded for replay")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.sivalabs.ft.features.domain.CycleTimeService;
+import com.sivalabs.ft.features.domain.dtos.CycleTimeReportDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics API")
+class AnalyticsController {
+    private final CycleTimeService cycleTimeService;
+
+    AnalyticsController(CycleTimeService cycleTimeService) {
+        this.cycleTimeService = cycleTimeService;
+    }
+
+    @GetMapping("/cycle-time")
+    @Operation(
+            summary = "Get cycle time percentiles",
+            description =
+                    "Get the lead time and cycle time percentiles, in minutes, of the released features of a product or release",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = CycleTimeReportDto.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(responseCode = "404", description = "Product or release not found")
+            })
+    CycleTimeReportDto getCycleTimeReport(
+            @RequestParam(value = "productCode", required = false) String productCode,
+            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
+        return cycleTimeService.getCycleTimeReport(productCode, releaseCode);
+    }
+}
@@ -5,6 +5,7 @@ import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateCommentCommand;
 import com.sivalabs.ft.features.domain.CommentService;
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.dtos.CommentSliceDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,9 +24,11 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class CommentController {
     private static final Logger log = LoggerFactory.getLogger(CommentController.class);
     private final CommentService commentService;
+    private final IdempotentRequests idempotentRequests;
 
-    CommentController(CommentService commentService) {
+    CommentController(CommentService commentService, IdempotentRequests idempotentRequests) {
         this.commentService = commentService;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @PostMapping
@@ -42,18 +45,28 @@ class CommentController {
                                         required = true,
                                         description = "URI of the created comment")),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "A request with the same Idempotency-Key is in progress"),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "The Idempotency-Key was already used for a different request"),
             })
-    ResponseEntity<String> addComment(@RequestBody @Valid AddCommentPayload addCommentPayload) {
-        String username = SecurityUtils.getCurrentUsername();
-        var command = new CreateCommentCommand(addCommentPayload.featureCode(), addCommentPayload.content(), username);
-        var commentId = commentService.createComment(command);
+    ResponseEntity<String> addComment(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid AddCommentPayload addCommentPayload) {
+        return idempotentRequests.create(idempotencyKey, "POST /api/comments", addCommentPayload, () -> {
+            String username = SecurityUtils.getCurrentUsername();
+            var command =
+                    new CreateCommentCommand(addCommentPayload.featureCode(), addCommentPayload.content(), username);
+            var commentId = commentService.createComment(command);
 
-        log.info("Comment added with id: {}", commentId);
-        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentRequest()
-                        .path("/{commentId}")
-                        .buildAndExpand(commentId)
-                        .toUri())
-                .build();
+            log.info("Comment added with id: {}", commentId);
+            return ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{commentId}")
+                    .buildAndExpand(commentId)
+                    .toUri();
+        });
     }
 
     @DeleteMapping("/{commentId}")
@@ -87,4 +100,22 @@ class CommentController {
         log.info("Retrieved {} comments for feature code: {}", comments.size(), featureCode);
         return ResponseEntity.ok(comments);
     }
+
+    @GetMapping("/scroll")
+    @Operation(
+            summary = "Scroll comments by feature code",
+            description =
+                    "Retrieve comments for a specific feature ordered by creation time, using the cursor returned by the previous call",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or size")
+            })
+    ResponseEntity<CommentSliceDto> scrollCommentsByFeatureCode(
+            @RequestParam String featureCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10", required = false) int size) {
+        CommentSliceDto slice = commentService.findCommentsByFeatureCode(featureCode, cursor, size);
+        log.info("Retrieved {} comments for feature code: {}", slice.comments().size(), featureCode);
+        return ResponseEntity.ok(slice);
+    }
 }
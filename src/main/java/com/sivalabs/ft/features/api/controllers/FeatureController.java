@@ -6,8 +6,11 @@ import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.*;
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeaturesCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureSummaryDto;
+import com.sivalabs.ft.features.domain.models.FeatureField;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -16,10 +19,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.net.URI;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -43,17 +45,26 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class FeatureController {
     private static final Logger log = LoggerFactory.getLogger(FeatureController.class);
     private final FeatureService featureService;
-    private final FavoriteFeatureService favoriteFeatureService;
+    private final CommentService commentService;
+    private final IdempotentRequests idempotentRequests;
+    private final SerializedResponseCache responseCache;
 
-    FeatureController(FeatureService featureService, FavoriteFeatureService favoriteFeatureService) {
+    FeatureController(
+            FeatureService featureService,
+            CommentService commentService,
+            IdempotentRequests idempotentRequests,
+            SerializedResponseCache responseCache) {
         this.featureService = featureService;
-        this.favoriteFeatureService = favoriteFeatureService;
+        this.commentService = commentService;
+        this.idempotentRequests = idempotentRequests;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("")
     @Operation(
             summary = "Find features by product or release",
-            description = "Find features by product or release",
+            description =
+                    "Find features by product or release. With fields, e.g. fields=title,status,assignedTo, only the code and the given fields are returned",
             responses = {
                 @ApiResponse(
                         responseCode = "200",
@@ -61,18 +72,60 @@ class FeatureController {
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class))))
+                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class)))),
+                @ApiResponse(responseCode = "400", description = "Unknown field requested")
             })
-    List<FeatureDto> getFeatures(
+    ResponseEntity<?> getFeatures(
             @RequestParam(value = "productCode", required = false) String productCode,
-            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
+            @RequestParam(value = "releaseCode", required = false) String releaseCode,
+            @RequestParam(value = "includeCommentsCount", defaultValue = "false") boolean includeCommentsCount,
+            @RequestParam(value = "fields", required = false) String fields) {
         // Only one of productCode or releaseCode should be provided
         if ((StringUtils.isBlank(productCode) && StringUtils.isBlank(releaseCode))
                 || (StringUtils.isNotBlank(productCode) && StringUtils.isNotBlank(releaseCode))) {
             // TODO: Return 400 Bad Request
-            return List.of();
+            return ResponseEntity.ok(List.of());
         }
         String username = SecurityUtils.getCurrentUsername();
+        if (StringUtils.isNotBlank(fields)) {
+            return ResponseEntity.ok(findFeatureSummaries(
+                    username,
+                    StringUtils.isNotBlank(productCode) ? productCode : null,
+                    StringUtils.isNotBlank(releaseCode) ? releaseCode : null,
+                    FeatureField.parse(fields),
+                    includeCommentsCount));
+        }
+        if (username == null && !includeCommentsCount) {
+            // without favorites nor comment counts the response is the same for all anonymous callers
+            String key = StringUtils.isNotBlank(productCode)
+                    ? "features?productCode=" + productCode
+                    : "features?releaseCode=" + releaseCode;
+            return responseCache.get(key, () -> findFeatures(null, productCode, releaseCode, false));
+        }
+        return ResponseEntity.ok(findFeatures(username, productCode, releaseCode, includeCommentsCount));
+    }
+
+    private List<FeatureSummaryDto> findFeatureSummaries(
+            String username,
+            String productCode,
+            String releaseCode,
+            Set<FeatureField> fields,
+            boolean includeCommentsCount) {
+        List<FeatureSummaryDto> summaries =
+                featureService.findFeatureSummaries(username, productCode, releaseCode, fields);
+        if (includeCommentsCount && !summaries.isEmpty()) {
+            Set<String> featureCodes =
+                    summaries.stream().map(FeatureSummaryDto::code).collect(Collectors.toSet());
+            Map<String, Long> commentCounts = commentService.getCommentCounts(featureCodes);
+            summaries = summaries.stream()
+                    .map(summary -> summary.withCommentsCount(commentCounts.getOrDefault(summary.code(), 0L)))
+                    .toList();
+        }
+        return summaries;
+    }
+
+    private List<FeatureDto> findFeatures(
+            String username, String productCode, String releaseCode, boolean includeCommentsCount) {
         List<FeatureDto> featureDtos;
         if (StringUtils.isNotBlank(productCode)) {
             featureDtos = featureService.findFeaturesByProduct(username, productCode);
@@ -80,12 +133,12 @@ class FeatureController {
             featureDtos = featureService.findFeaturesByRelease(username, releaseCode);
         }
 
-        if (username != null && !featureDtos.isEmpty()) {
+        if (includeCommentsCount && !featureDtos.isEmpty()) {
             Set<String> featureCodes =
                     featureDtos.stream().map(FeatureDto::code).collect(Collectors.toSet());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
+            Map<String, Long> commentCounts = commentService.getCommentCounts(featureCodes);
             featureDtos = featureDtos.stream()
-                    .map(featureDto -> featureDto.makeFavorite(favoriteFeatures.get(featureDto.code())))
+                    .map(featureDto -> featureDto.withCommentsCount(commentCounts.getOrDefault(featureDto.code(), 0L)))
                     .toList();
         }
         return featureDtos;
@@ -107,15 +160,8 @@ class FeatureController {
             })
     ResponseEntity<FeatureDto> getFeature(@PathVariable String code) {
         String username = SecurityUtils.getCurrentUsername();
-        Optional<FeatureDto> featureDtoOptional = featureService.findFeatureByCode(username, code);
-        if (username != null && featureDtoOptional.isPresent()) {
-            FeatureDto featureDto = featureDtoOptional.get();
-            Set<String> featureCodes = Set.of(featureDto.code());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
-            featureDto = featureDto.makeFavorite(favoriteFeatures.get(featureDto.code()));
-            featureDtoOptional = Optional.of(featureDto);
-        }
-        return featureDtoOptional
+        return featureService
+                .findFeatureByCode(username, code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -134,25 +180,35 @@ class FeatureController {
                                         required = true,
                                         description = "URI of the created feature")),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(
+                        responseCode = "409",
+                        description =
+                                "A request with the same Idempotency-Key is in progress, or the release is being deleted"),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "The Idempotency-Key was already used for a different request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
             })
-    ResponseEntity<Void> createFeature(@RequestBody @Valid CreateFeaturePayload payload) {
-        var username = SecurityUtils.getCurrentUsername();
-        var cmd = new CreateFeatureCommand(
-                payload.productCode(),
-                payload.releaseCode(),
-                payload.title(),
-                payload.description(),
-                payload.assignedTo(),
-                username);
-        String code = featureService.createFeature(cmd);
-        log.info("Created feature with code {}", code);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{code}")
-                .buildAndExpand(code)
-                .toUri();
-        return ResponseEntity.created(location).build();
+    ResponseEntity<Void> createFeature(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CreateFeaturePayload payload) {
+        return idempotentRequests.create(idempotencyKey, "POST /api/features", payload, () -> {
+            var username = SecurityUtils.getCurrentUsername();
+            var cmd = new CreateFeatureCommand(
+                    payload.productCode(),
+                    payload.releaseCode(),
+                    payload.title(),
+                    payload.description(),
+                    payload.assignedTo(),
+                    username);
+            String code = featureService.createFeature(cmd);
+            log.info("Created feature with code {}", code);
+            return ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{code}")
+                    .buildAndExpand(code)
+                    .toUri();
+        });
     }
 
     @PutMapping("/{code}")
@@ -162,6 +218,7 @@ class FeatureController {
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successful response"),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(responseCode = "409", description = "The release is being deleted"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
             })
@@ -197,4 +254,26 @@ class FeatureController {
         featureService.deleteFeature(cmd);
         return ResponseEntity.ok().build();
     }
+
+    @DeleteMapping("")
+    @Operation(
+            summary = "Delete all features of a product or release",
+            description =
+                    "Delete all features of a product or of a release, together with their favorites and comments. The deletion runs in the background.",
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Deletion accepted"),
+                @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                @ApiResponse(responseCode = "403", description = "Forbidden"),
+                @ApiResponse(responseCode = "404", description = "Product or release not found"),
+            })
+    ResponseEntity<Void> deleteFeatures(
+            @RequestParam(value = "productCode", required = false) String productCode,
+            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
+        var username = SecurityUtils.getCurrentUsername();
+        var cmd = new DeleteFeaturesCommand(productCode, releaseCode, username);
+        featureService.deleteFeatures(cmd);
+        log.info("Accepted deletion of features for productCode={}, releaseCode={}", productCode, releaseCode);
+        return ResponseEntity.accepted().build();
+    }
 }
@@ -0,0 +1,76 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.api.utils.SecurityUtils;
+import com.sivalabs.ft.features.domain.IdempotencyService;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.models.StoredResponse;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes create requests at most once per {@code Idempotency-Key}, per user and endpoint.
+ * A replayed request gets the original response, without running the command or publishing events again.
+ * A key reused with a different payload is rejected with {@code 422 Unprocessable Entity}.
+ */
+@Component
+class IdempotentRequests {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    IdempotentRequests(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    <T> ResponseEntity<T> create(String idempotencyKey, String endpoint, Object payload, Supplier<URI> command) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.created(command.get()).build();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "%s cannot exceed %d characters".formatted(IDEMPOTENCY_KEY_HEADER, MAX_KEY_LENGTH));
+        }
+        String scope = SecurityUtils.getCurrentUsername() + " " + endpoint;
+        String requestHash = hash(payload);
+        Optional<StoredResponse> stored = idempotencyService.claim(scope, idempotencyKey, requestHash);
+        if (stored.isPresent()) {
+            StoredResponse response = stored.get();
+            return ResponseEntity.status(response.statusCode())
+                    .location(response.location() == null ? null : URI.create(response.location()))
+                    .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                    .build();
+        }
+        URI location;
+        try {
+            location =
+                    idempotencyService.execute(scope, idempotencyKey, requestHash, HttpStatus.CREATED.value(), command);
+        } catch (RuntimeException e) {
+            idempotencyService.release(scope, idempotencyKey);
+            throw e;
+        }
+        return ResponseEntity.created(location).build();
+    }
+
+    /** Hashes the payload as deserialized, so that formatting and field order don't matter. */
+    private String hash(Object payload) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
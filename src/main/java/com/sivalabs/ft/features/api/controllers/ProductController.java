@@ -6,6 +6,7 @@ import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateProductCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
 import com.sivalabs.ft.features.domain.ProductService;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -15,8 +16,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.net.URI;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -35,9 +35,16 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class ProductController {
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
     private final ProductService productService;
+    private final IdempotentRequests idempotentRequests;
+    private final SerializedResponseCache responseCache;
 
-    ProductController(ProductService productService) {
+    ProductController(
+            ProductService productService,
+            IdempotentRequests idempotentRequests,
+            SerializedResponseCache responseCache) {
         this.productService = productService;
+        this.idempotentRequests = idempotentRequests;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("")
@@ -53,8 +60,8 @@ class ProductController {
                                         mediaType = "application/json",
                                         array = @ArraySchema(schema = @Schema(implementation = ProductDto.class))))
             })
-    List<ProductDto> getProducts() {
-        return productService.findAllProducts();
+    ResponseEntity<byte[]> getProducts() {
+        return responseCache.get("products", productService::findAllProducts);
     }
 
     @GetMapping("/{code}")
@@ -78,6 +85,27 @@ class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{code}/summary")
+    @Operation(
+            summary = "Get product summary",
+            description = "Get the number of features of a product grouped by status",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureStatusSummaryDto.class))),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<FeatureStatusSummaryDto> getProductSummary(@PathVariable String code) {
+        return productService
+                .getProductSummary(code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("")
     @Operation(
             summary = "Create a new product",
@@ -92,20 +120,34 @@ class ProductController {
                                         required = true,
                                         description = "URI of the created product")),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "A request with the same Idempotency-Key is in progress"),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "The Idempotency-Key was already used for a different request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
             })
-    ResponseEntity<Void> createProduct(@RequestBody @Valid CreateProductPayload payload) {
-        var username = SecurityUtils.getCurrentUsername();
-        var cmd = new CreateProductCommand(
-                payload.code(), payload.prefix(), payload.name(), payload.description(), payload.imageUrl(), username);
-        Long id = productService.createProduct(cmd);
-        log.info("Created product with id {}", id);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{code}")
-                .buildAndExpand(payload.code())
-                .toUri();
-        return ResponseEntity.created(location).build();
+    ResponseEntity<Void> createProduct(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CreateProductPayload payload) {
+        return idempotentRequests.create(idempotencyKey, "POST /api/products", payload, () -> {
+            var username = SecurityUtils.getCurrentUsername();
+            var cmd = new CreateProductCommand(
+                    payload.code(),
+                    payload.prefix(),
+                    payload.name(),
+                    payload.description(),
+                    payload.imageUrl(),
+                    username);
+            Long id = productService.createProduct(cmd);
+            log.info("Created product with id {}", id);
+            return ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{code}")
+                    .buildAndExpand(payload.code())
+                    .toUri();
+        });
     }
 
     @PutMapping("/{code}")
@@ -6,6 +6,8 @@ import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateReleaseCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateReleaseCommand;
 import com.sivalabs.ft.features.domain.ReleaseService;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDeletionProgressDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -15,8 +17,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.net.URI;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +26,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -37,9 +38,16 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class ReleaseController {
     private static final Logger log = LoggerFactory.getLogger(ReleaseController.class);
     private final ReleaseService releaseService;
+    private final IdempotentRequests idempotentRequests;
+    private final SerializedResponseCache responseCache;
 
-    ReleaseController(ReleaseService releaseService) {
+    ReleaseController(
+            ReleaseService releaseService,
+            IdempotentRequests idempotentRequests,
+            SerializedResponseCache responseCache) {
         this.releaseService = releaseService;
+        this.idempotentRequests = idempotentRequests;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("")
@@ -55,8 +63,9 @@ class ReleaseController {
                                         mediaType = "application/json",
                                         array = @ArraySchema(schema = @Schema(implementation = ReleaseDto.class))))
             })
-    List<ReleaseDto> getProductReleases(@RequestParam("productCode") String productCode) {
-        return releaseService.findReleasesByProductCode(productCode);
+    ResponseEntity<byte[]> getProductReleases(@RequestParam("productCode") String productCode) {
+        return responseCache.get(
+                "releases?productCode=" + productCode, () -> releaseService.findReleasesByProductCode(productCode));
     }
 
     @GetMapping("/{code}")
@@ -80,6 +89,27 @@ class ReleaseController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{code}/summary")
+    @Operation(
+            summary = "Get release summary",
+            description = "Get the number of features of a release grouped by status",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureStatusSummaryDto.class))),
+                @ApiResponse(responseCode = "404", description = "Release not found")
+            })
+    ResponseEntity<FeatureStatusSummaryDto> getReleaseSummary(@PathVariable String code) {
+        return releaseService
+                .getReleaseSummary(code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("")
     @Operation(
             summary = "Create a new release",
@@ -94,19 +124,28 @@ class ReleaseController {
                                         required = true,
                                         description = "URI of the created release")),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "A request with the same Idempotency-Key is in progress"),
+                @ApiResponse(
+                        responseCode = "422",
+                        description = "The Idempotency-Key was already used for a different request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
             })
-    ResponseEntity<Void> createRelease(@RequestBody @Valid CreateReleasePayload payload) {
-        var username = SecurityUtils.getCurrentUsername();
-        var cmd = new CreateReleaseCommand(payload.productCode(), payload.code(), payload.description(), username);
-        String code = releaseService.createRelease(cmd);
-        log.info("Created release with code {}", code);
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{code}")
-                .buildAndExpand(code)
-                .toUri();
-        return ResponseEntity.created(location).build();
+    ResponseEntity<Void> createRelease(
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CreateReleasePayload payload) {
+        return idempotentRequests.create(idempotencyKey, "POST /api/releases", payload, () -> {
+            var username = SecurityUtils.getCurrentUsername();
+            var cmd = new CreateReleaseCommand(payload.productCode(), payload.code(), payload.description(), username);
+            String code = releaseService.createRelease(cmd);
+            log.info("Created release with code {}", code);
+            return ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{code}")
+                    .buildAndExpand(code)
+                    .toUri();
+        });
     }
 
     @PutMapping("/{code}")
@@ -129,9 +168,10 @@ class ReleaseController {
     @DeleteMapping("/{code}")
     @Operation(
             summary = "Delete an existing release",
-            description = "Delete an existing release",
+            description =
+                    "Mark the release as DELETING. Its features are detached and the release is removed in the background.",
             responses = {
-                @ApiResponse(responseCode = "200", description = "Successful response"),
+                @ApiResponse(responseCode = "202", description = "Deletion accepted"),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
@@ -141,6 +181,27 @@ class ReleaseController {
             return ResponseEntity.notFound().build();
         }
         releaseService.deleteRelease(code);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{code}/deletion")
+    @Operation(
+            summary = "Get release deletion progress",
+            description = "Get the status of a release and the number of features still attached to it",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ReleaseDeletionProgressDto.class))),
+                @ApiResponse(responseCode = "404", description = "Release not found or already deleted")
+            })
+    ResponseEntity<ReleaseDeletionProgressDto> getReleaseDeletionProgress(@PathVariable String code) {
+        return releaseService
+                .getReleaseDeletionProgress(code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,139 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.CatalogVersion;
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Keeps the JSON bytes of responses that are the same for every caller, so that they are written as they are
+ * instead of being loaded, mapped and serialized again.
+ * Bodies of at least {@code ft.response-cache.gzip-min-size} bytes are also kept gzip compressed,
+ * for the clients accepting it.
+ * <p>
+ * An entry is valid as long as the {@link CatalogVersion} it was loaded at is still the current one,
+ * so any committed change of a product, release or feature discards all of them. A response is only kept if the
+ * version did not change while it was loaded, as the load may have read the data from before the change.
+ * Entries also expire after {@code ft.response-cache.ttl}, which bounds how long data read from a lagging
+ * replica can be served. The requests pinned with {@link PrimaryReads#pin()} are never served a cached response.
+ */
+@Component
+class SerializedResponseCache {
+    private static final String GZIP = "gzip";
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, SerializedResponse> cache;
+    private final int gzipMinSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    SerializedResponseCache(
+            CatalogVersion catalogVersion,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.responseCache().maxSize())
+                .expireAfterWrite(properties.responseCache().ttl())
+                .build();
+        this.gzipMinSize = properties.responseCache().gzipMinSize();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    ResponseEntity<byte[]> get(String key, Supplier<?> loader) {
+        long version = catalogVersion.current();
+        SerializedResponse response = cache.getIfPresent(key);
+        if (response != null && response.version() == version && !PrimaryReads.isPinned()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            SerializedResponse loaded = serialize(version, loader.get());
+            if (catalogVersion.current() != version) {
+                return toResponseEntity(loaded);
+            }
+            // a slower request that loaded an older version must not replace a newer entry
+            response = cache.asMap()
+                    .merge(
+                            key,
+                            loaded,
+                            (previous, current) -> previous.version() > current.version() ? previous : current);
+        }
+        return toResponseEntity(response);
+    }
+
+    private SerializedResponse serialize(long version, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the response", e);
+        }
+        return new SerializedResponse(version, json, json.length >= gzipMinSize ? gzip(json) : null);
+    }
+
+    private static ResponseEntity<byte[]> toResponseEntity(SerializedResponse response) {
+        var builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (response.gzipped() != null && acceptsGzip()) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzipped());
+        }
+        return builder.body(response.json());
+    }
+
+    private static boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        String acceptEncoding = attributes.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 4);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ft.responsecache.requests")
+                .description("Requests answered from (hit) or added to (miss) the serialized response cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record SerializedResponse(long version, byte[] json, byte[] gzipped) {}
+}
@@ -0,0 +1,5 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.util.List;
+
+public record LoginUser(String username, String email, String name, List<String> roles) {}
@@ -1,42 +1,55 @@
 package com.sivalabs.ft.features.api.utils;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 public class SecurityUtils {
+    private static final String LOGIN_USER_ATTRIBUTE = SecurityUtils.class.getName() + ".loginUser";
 
     public static String getCurrentUsername() {
-        var loginUserDetails = getLoginUserDetails();
-        var username = loginUserDetails.get("username");
-        if (loginUserDetails.isEmpty() || username == null) {
-            return null;
-        }
-        return String.valueOf(username);
+        return getLoginUser().map(LoginUser::username).orElse(null);
     }
 
-    static Map<String, Object> getLoginUserDetails() {
-        Map<String, Object> map = new HashMap<>();
+    /**
+     * Returns the user of the current request.
+     * It is built from the JWT claims on first use and kept in the request for the following calls.
+     */
+    public static Optional<LoginUser> getLoginUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!(authentication instanceof JwtAuthenticationToken jwtAuth)) {
-            return map;
+            return Optional.empty();
         }
-        Jwt jwt = (Jwt) jwtAuth.getPrincipal();
-
-        map.put("username", jwt.getClaimAsString("preferred_username"));
-        map.put("email", jwt.getClaimAsString("email"));
-        map.put("name", jwt.getClaimAsString("name"));
-        map.put("token", jwt.getTokenValue());
-        map.put("authorities", authentication.getAuthorities());
-        map.put("roles", getRoles(jwt));
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return Optional.of(toLoginUser(jwtAuth.getToken()));
+        }
+        if (requestAttributes.getAttribute(LOGIN_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof CachedLoginUser cached
+                && cached.authentication() == authentication) {
+            return Optional.of(cached.loginUser());
+        }
+        LoginUser loginUser = toLoginUser(jwtAuth.getToken());
+        requestAttributes.setAttribute(
+                LOGIN_USER_ATTRIBUTE, new CachedLoginUser(authentication, loginUser), RequestAttributes.SCOPE_REQUEST);
+        return Optional.of(loginUser);
+    }
 
-        return map;
+    private static LoginUser toLoginUser(Jwt jwt) {
+        return new LoginUser(
+                jwt.getClaimAsString("preferred_username"),
+                jwt.getClaimAsString("email"),
+                jwt.getClaimAsString("name"),
+                getRoles(jwt));
     }
 
+    @SuppressWarnings("unchecked")
     private static List<String> getRoles(Jwt jwt) {
         Map<String, Object> realm_access = (Map<String, Object>) jwt.getClaims().get("realm_access");
         if (realm_access != null && !realm_access.isEmpty()) {
@@ -44,4 +57,6 @@ public class SecurityUtils {
         }
         return List.of();
     }
+
+    private record CachedLoginUser(Authentication authentication, LoginUser loginUser) {}
 }
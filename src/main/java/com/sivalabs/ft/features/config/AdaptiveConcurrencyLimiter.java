@@ -0,0 +1,103 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties.DbPoolProperties;
+import com.sivalabs.ft.features.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limits the number of API requests handled concurrently, and rejects the others with a 503, so that requests fail
+ * fast instead of queuing for database connections until they time out.
+ * <p>
+ * The limit adapts to the {@link PoolPressure}: it is cut by a tenth, at most once per wait budget, while the average
+ * connection wait is over the budget, and grows by one for about every limit requests completed while the pool keeps
+ * up and the requests in flight come close to the limit.
+ */
+class AdaptiveConcurrencyLimiter implements HandlerInterceptor {
+    private static final String ACQUIRED_ATTRIBUTE = AdaptiveConcurrencyLimiter.class.getName() + ".acquired";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final PoolPressure pressure;
+    private final long waitBudgetNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter accepted;
+    private final Counter shed;
+    private volatile double limit;
+    private long lastDecrease;
+
+    AdaptiveConcurrencyLimiter(
+            PoolPressure pressure, DbPoolProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.pressure = pressure;
+        this.waitBudgetNanos = properties.waitBudget().toNanos();
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+        this.lastDecrease = nanoClock.getAsLong() - waitBudgetNanos;
+        this.accepted = counter(meterRegistry, "ACCEPTED");
+        this.shed = counter(meterRegistry, "SHED");
+        Gauge.builder("ft.db.pool.limiter.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Number of API requests allowed to run concurrently")
+                .register(meterRegistry);
+        Gauge.builder("ft.db.pool.limiter.in-flight", inFlight, AtomicInteger::get)
+                .description("Number of API requests running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            throw new ServiceUnavailableException("The database is saturated, retry later", RETRY_AFTER);
+        }
+        accepted.increment();
+        request.setAttribute(ACQUIRED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ACQUIRED_ATTRIBUTE) == null) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED_ATTRIBUTE);
+        int running = inFlight.getAndDecrement();
+        adjust(running);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    private synchronized void adjust(int running) {
+        long now = nanoClock.getAsLong();
+        if (pressure.averageWaitNanos() > waitBudgetNanos) {
+            if (now - lastDecrease >= waitBudgetNanos) {
+                limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+                lastDecrease = now;
+            }
+        } else if (running >= limit / 2) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ft.db.pool.limiter.requests")
+                .description("API requests checked against the concurrency limit")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
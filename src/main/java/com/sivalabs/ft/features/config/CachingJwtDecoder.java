@@ -0,0 +1,83 @@
+package com.sivalabs.ft.features.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Keeps successfully decoded and validated tokens, keyed by the SHA-256 of the token,
+ * so that a token presented again skips signature verification.
+ * An entry never outlives the expiry of its token; failed validations are not cached.
+ */
+class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new JwtExpiry(maxTtl))
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = sha256(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        if (!isExpired(jwt)) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private static boolean isExpired(Jwt jwt) {
+        return jwt.getExpiresAt() != null && !jwt.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record JwtExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            long maxTtlNanos = maxTtl.toNanos();
+            if (jwt.getExpiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiry =
+                    Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
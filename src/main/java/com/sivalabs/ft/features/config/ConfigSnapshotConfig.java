@@ -0,0 +1,31 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@ConditionalOnProperty(name = "ft.config-snapshot.enabled", havingValue = "true", matchIfMissing = true)
+class ConfigSnapshotConfig {
+
+    @Bean
+    ConfigSnapshotRefresher configSnapshotRefresher(
+            ApplicationProperties properties,
+            ConfigurableEnvironment environment,
+            ApplicationEventPublisher eventPublisher,
+            RestClient.Builder restClientBuilder) {
+        var configSnapshot = properties.configSnapshot();
+        return new ConfigSnapshotRefresher(
+                configSnapshot.serverUri(),
+                Path.of(configSnapshot.file()),
+                configSnapshot.timeout(),
+                environment,
+                eventPublisher,
+                restClientBuilder);
+    }
+}
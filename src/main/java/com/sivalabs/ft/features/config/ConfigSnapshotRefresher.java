@@ -0,0 +1,191 @@
+package com.sivalabs.ft.features.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Keeps a local snapshot of the configuration served by the config server.
+ * <p>
+ * The snapshot is imported at startup with {@code spring.config.import}, so startup doesn't wait for the config
+ * server. Once the application is ready the configuration is fetched in the background; when it differs from the
+ * snapshot, the snapshot is rewritten for the next start and the new values are applied to the environment.
+ * An {@link EnvironmentChangeEvent} rebinds the mutable {@code @ConfigurationProperties} beans and the log levels;
+ * values already bound into immutable beans take effect at the next start.
+ */
+class ConfigSnapshotRefresher implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshotRefresher.class);
+    private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY =
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+    static final String PROPERTY_SOURCE_NAME = "configServer";
+    private static final String CONFIG_DATA_PREFIX = "Config resource '";
+
+    private final String serverUri;
+    private final Path snapshot;
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestClient restClient;
+
+    ConfigSnapshotRefresher(
+            String serverUri,
+            Path snapshot,
+            Duration timeout,
+            ConfigurableEnvironment environment,
+            ApplicationEventPublisher eventPublisher,
+            RestClient.Builder restClientBuilder) {
+        this.serverUri = serverUri;
+        this.snapshot = snapshot;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        var requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread.ofPlatform().name("config-snapshot-refresh").daemon().start(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Failed to fetch the configuration from {}, keeping {}: {}", serverUri, snapshot, e.toString());
+            }
+        });
+    }
+
+    /**
+     * Fetches the configuration and applies it when it changed.
+     *
+     * @return the names of the properties that changed
+     */
+    Set<String> refresh() {
+        Map<String, String> fetched = fetch();
+        Map<String, String> previous = readSnapshot();
+        if (fetched.equals(previous)) {
+            log.debug("Configuration from {} unchanged", serverUri);
+            return Set.of();
+        }
+        Set<String> changedKeys = new HashSet<>(previous.keySet());
+        changedKeys.addAll(fetched.keySet());
+        changedKeys.removeIf(key -> fetched.containsKey(key) && fetched.get(key).equals(previous.get(key)));
+        writeSnapshot(fetched);
+        apply(fetched);
+        eventPublisher.publishEvent(new EnvironmentChangeEvent(changedKeys));
+        log.info("Configuration from {} applied and saved to {}, changed: {}", serverUri, snapshot, changedKeys);
+        return changedKeys;
+    }
+
+    private Map<String, String> fetch() {
+        String application = environment.getProperty("spring.application.name", "application");
+        String profiles = environment.getActiveProfiles().length == 0
+                ? "default"
+                : String.join(",", environment.getActiveProfiles());
+        ConfigServerEnvironment response = restClient
+                .get()
+                .uri(serverUri + "/{application}/{profiles}", application, profiles)
+                .retrieve()
+                .body(ConfigServerEnvironment.class);
+        Map<String, String> properties = new HashMap<>();
+        if (response == null || response.propertySources() == null) {
+            return properties;
+        }
+        // the first property source has the highest precedence
+        for (ConfigServerPropertySource source : response.propertySources().reversed()) {
+            source.source().forEach((key, value) -> properties.put(key, String.valueOf(value)));
+        }
+        return properties;
+    }
+
+    private void apply(Map<String, String> properties) {
+        MutablePropertySources propertySources = environment.getPropertySources();
+        var propertySource = new MapPropertySource(PROPERTY_SOURCE_NAME, new HashMap<>(properties));
+        String snapshotSource = null;
+        String firstConfigData = null;
+        for (PropertySource<?> source : propertySources) {
+            if (source.getName().equals(PROPERTY_SOURCE_NAME)
+                    || (source.getName().startsWith(CONFIG_DATA_PREFIX)
+                            && source.getName().contains(snapshot.getFileName().toString()))) {
+                snapshotSource = source.getName();
+                break;
+            }
+            if (firstConfigData == null && source.getName().startsWith(CONFIG_DATA_PREFIX)) {
+                firstConfigData = source.getName();
+            }
+        }
+        // takes the place of the imported snapshot, above application.properties but below env variables
+        if (snapshotSource != null) {
+            propertySources.replace(snapshotSource, propertySource);
+        } else if (firstConfigData != null) {
+            propertySources.addBefore(firstConfigData, propertySource);
+        } else {
+            propertySources.addLast(propertySource);
+        }
+    }
+
+    private Map<String, String> readSnapshot() {
+        Map<String, String> properties = new HashMap<>();
+        if (!Files.isReadable(snapshot)) {
+            return properties;
+        }
+        var loaded = new Properties();
+        try (Reader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+            loaded.load(reader);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable configuration snapshot {}: {}", snapshot, e.toString());
+            return properties;
+        }
+        loaded.stringPropertyNames().forEach(name -> properties.put(name, loaded.getProperty(name)));
+        return properties;
+    }
+
+    private void writeSnapshot(Map<String, String> properties) {
+        try {
+            Path dir = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            // holds whatever the config server returns, credentials included: readable by the owner only
+            Path tmp = dir.getFileSystem().supportedFileAttributeViews().contains("posix")
+                    ? Files.createTempFile(dir, "config", ".tmp", OWNER_ONLY)
+                    : Files.createTempFile(dir, "config", ".tmp");
+            var content = new Properties();
+            content.putAll(properties);
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                content.store(writer, "Configuration fetched from " + serverUri);
+            }
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write configuration snapshot {}: {}", snapshot, e.toString());
+        }
+    }
+
+    record ConfigServerEnvironment(List<ConfigServerPropertySource> propertySources) {}
+
+    record ConfigServerPropertySource(String name, Map<String, Object> source) {}
+}
@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.config;
+
+/**
+ * Accumulates the time the current thread spends waiting for pooled connections and holding them while the usage is
+ * open. Fed by {@link PoolUsageMetricsTrackerFactory}, which Hikari calls on the thread getting and closing the
+ * connection.
+ */
+final class ConnectionUsage implements AutoCloseable {
+    private static final ThreadLocal<ConnectionUsage> CURRENT = new ThreadLocal<>();
+
+    private long waitNanos;
+    private long holdMillis;
+
+    private ConnectionUsage() {}
+
+    static ConnectionUsage open() {
+        ConnectionUsage usage = new ConnectionUsage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    static void recordWait(long nanos) {
+        ConnectionUsage usage = CURRENT.get();
+        if (usage != null) {
+            usage.waitNanos += nanos;
+        }
+    }
+
+    static void recordHold(long millis) {
+        ConnectionUsage usage = CURRENT.get();
+        if (usage != null) {
+            usage.holdMillis += millis;
+        }
+    }
+
+    long waitNanos() {
+        return waitNanos;
+    }
+
+    long holdMillis() {
+        return holdMillis;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sivalabs.ft.features.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records, per endpoint, the time each request waited for database connections and the time it held them, to tell
+ * which endpoints keep the pool busy when it runs out of connections.
+ */
+class ConnectionUsageInterceptor implements HandlerInterceptor {
+    private static final String USAGE_ATTRIBUTE = ConnectionUsageInterceptor.class.getName() + ".usage";
+
+    private final MeterRegistry meterRegistry;
+
+    ConnectionUsageInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(USAGE_ATTRIBUTE, ConnectionUsage.open());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(USAGE_ATTRIBUTE) instanceof ConnectionUsage usage)) {
+            return;
+        }
+        usage.close();
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : "UNKNOWN";
+        Timer.builder("ft.db.connection.wait")
+                .description("Time a request waited for database connections")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(usage.waitNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("ft.db.connection.hold")
+                .description("Time a request held database connections")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(usage.holdMillis(), TimeUnit.MILLISECONDS);
+    }
+}
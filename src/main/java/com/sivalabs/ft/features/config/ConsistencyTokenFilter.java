@@ -0,0 +1,107 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Gives read-your-writes consistency when reads go to replicas.
+ * <p>
+ * Successful write requests get a {@code Consistency-Token} header holding the time of the write. A request that
+ * sends the token back within {@code ft.replicas.read-your-writes-window} has its reads served by the primary,
+ * as the replicas may not have caught up with the write yet. Tokens from the future are ignored, so that a client
+ * cannot pin its requests to the primary for longer than the window.
+ */
+class ConsistencyTokenFilter extends OncePerRequestFilter {
+    static final String CONSISTENCY_TOKEN_HEADER = "Consistency-Token";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration readYourWritesWindow;
+    private final Clock clock;
+
+    ConsistencyTokenFilter(Duration readYourWritesWindow, Clock clock) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean pinned = isRecentWrite(request.getHeader(CONSISTENCY_TOKEN_HEADER));
+        if (pinned) {
+            PrimaryReads.pin();
+        }
+        try {
+            if (SAFE_METHODS.contains(request.getMethod())) {
+                filterChain.doFilter(request, response);
+            } else {
+                var wrapper = new ConsistencyTokenResponseWrapper(response);
+                filterChain.doFilter(request, wrapper);
+                wrapper.writeHeader();
+            }
+        } finally {
+            if (pinned) {
+                PrimaryReads.unpin();
+            }
+        }
+    }
+
+    private boolean isRecentWrite(String token) {
+        if (token == null) {
+            return false;
+        }
+        try {
+            long writtenAt = Long.parseLong(token.trim());
+            long now = clock.millis();
+            return writtenAt <= now && now - writtenAt < readYourWritesWindow.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the header just before the response is committed, i.e. after the transactions of the request.
+     */
+    private class ConsistencyTokenResponseWrapper extends HttpServletResponseWrapper {
+        private boolean headerWritten;
+
+        ConsistencyTokenResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted() && getStatus() < 400) {
+                setHeader(CONSISTENCY_TOKEN_HEADER, String.valueOf(clock.millis()));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Makes the saturation of the primary connection pool visible and acted upon: per endpoint connection wait and hold
+ * times, an {@link AdaptiveConcurrencyLimiter} shedding API requests, and a {@code dbPool} health indicator reporting
+ * the instance degraded.
+ */
+@Configuration
+class DbPoolConfig implements WebMvcConfigurer {
+    private final ApplicationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final PoolPressure poolPressure;
+
+    DbPoolConfig(ApplicationProperties properties, MeterRegistry meterRegistry, PoolPressure poolPressure) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.poolPressure = poolPressure;
+    }
+
+    /**
+     * Feeds the waits and hold times of the Hikari pools to {@link PoolUsageMetricsTrackerFactory}. The {@code
+     * hikaricp.*} metrics are kept: Spring Boot only registers its Micrometer factory on pools without a factory.
+     */
+    @Bean
+    static BeanPostProcessor poolUsageMetricsPostProcessor(
+            ObjectProvider<PoolPressure> poolPressure, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricRegistry() == null) {
+                    MetricsTrackerFactory delegate = dataSource.getMetricsTrackerFactory() != null
+                            ? dataSource.getMetricsTrackerFactory()
+                            : new MicrometerMetricsTrackerFactory(meterRegistry.getObject());
+                    dataSource.setMetricsTrackerFactory(
+                            new PoolUsageMetricsTrackerFactory(delegate, dataSource, poolPressure.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    DbPoolHealthIndicator dbPoolHealthIndicator(ObjectProvider<HikariDataSource> dataSources) {
+        return new DbPoolHealthIndicator(poolPressure, properties.dbPool().waitBudget(), dataSources);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionUsageInterceptor(meterRegistry));
+        if (properties.dbPool().limiterEnabled()) {
+            registry.addInterceptor(new AdaptiveConcurrencyLimiter(
+                            poolPressure, properties.dbPool(), meterRegistry, System::nanoTime))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Reports the instance {@link #DEGRADED} while the primary pool is saturated. This is not part of the readiness
+ * group: the database is shared by all the instances, so they would all go out of service at once and turn the
+ * saturation into an outage. The {@link AdaptiveConcurrencyLimiter} sheds the excess requests instead.
+ * <p>
+ * The pool is saturated from an average connection wait over the budget, and until it goes back under half of it,
+ * so that the status does not flap around the budget.
+ */
+class DbPoolHealthIndicator implements HealthIndicator {
+    /** Mapped to {@code 200 OK} by {@code management.endpoint.health.status.http-mapping.degraded}. */
+    static final Status DEGRADED = new Status("DEGRADED", "The primary connection pool is saturated");
+
+    private final PoolPressure pressure;
+    private final long waitBudgetNanos;
+    private final ObjectProvider<HikariDataSource> dataSources;
+    private volatile boolean saturated;
+
+    DbPoolHealthIndicator(PoolPressure pressure, Duration waitBudget, ObjectProvider<HikariDataSource> dataSources) {
+        this.pressure = pressure;
+        this.waitBudgetNanos = waitBudget.toNanos();
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public Health health() {
+        long averageWait = pressure.averageWaitNanos();
+        saturated = saturated ? averageWait > waitBudgetNanos / 2 : averageWait > waitBudgetNanos;
+        Health.Builder builder = saturated ? Health.status(DEGRADED) : Health.up();
+        builder.withDetail("averageWait", Duration.ofNanos(averageWait).toString())
+                .withDetail("waitBudget", Duration.ofNanos(waitBudgetNanos).toString());
+        HikariDataSource dataSource = dataSources.getIfUnique();
+        HikariPoolMXBean pool = dataSource != null ? dataSource.getHikariPoolMXBean() : null;
+        if (pool != null) {
+            builder.withDetail("activeConnections", pool.getActiveConnections())
+                    .withDetail("totalConnections", pool.getTotalConnections())
+                    .withDetail("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Makes the springdoc beans, and the {@link OpenAPIConfig} ones, lazy so that they are not created during startup.
+ * They are created on the first request of the API documentation, or by {@link #initializeDeferredBeans}.
+ */
+class DeferredBeansPostProcessor implements BeanFactoryPostProcessor {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    private final List<String> deferredBeanNames = new ArrayList<>();
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (isDeferred(beanFactory, definition)) {
+                definition.setLazyInit(true);
+                deferredBeanNames.add(name);
+            }
+        }
+    }
+
+    List<String> getDeferredBeanNames() {
+        return List.copyOf(deferredBeanNames);
+    }
+
+    void initializeDeferredBeans() {
+        deferredBeanNames.forEach(beanFactory::getBean);
+    }
+
+    private static boolean isDeferred(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null) {
+            // a @Bean method: look at the configuration class declaring it
+            className = beanFactory
+                    .getBeanDefinition(definition.getFactoryBeanName())
+                    .getBeanClassName();
+        }
+        return className != null
+                && (className.startsWith(SPRINGDOC_PACKAGE) || className.equals(OpenAPIConfig.class.getName()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Moves work that serving requests doesn't need off the startup path, when
+ * {@code ft.startup.deferred-initialization=true}:
+ * <ul>
+ *     <li>the springdoc and OpenAPI beans are created after the application is ready;</li>
+ *     <li>Flyway applies the pending migrations without validating the applied ones,
+ *     the validation runs after the application is ready;</li>
+ *     <li>the Kafka producer is created, and the topic metadata fetched, after the application is ready
+ *     instead of on the first published event.</li>
+ * </ul>
+ * These steps run on a background thread and appear in the {@code startup} actuator endpoint as {@code ft.deferred.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ft.startup.deferred-initialization", havingValue = "true")
+class DeferredInitializationConfig {
+    private static final Logger log = LoggerFactory.getLogger(DeferredInitializationConfig.class);
+
+    @Bean
+    static DeferredBeansPostProcessor deferredBeansPostProcessor() {
+        return new DeferredBeansPostProcessor();
+    }
+
+    @Bean
+    FlywayMigrationStrategy migrateWithoutValidation() {
+        return flyway -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .validateOnMigrate(false)
+                .load()
+                .migrate();
+    }
+
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> deferredInitializer(
+            DeferredBeansPostProcessor deferredBeans,
+            ObjectProvider<Flyway> flyway,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ApplicationProperties properties) {
+        return event -> Thread.ofPlatform().name("deferred-init").daemon().start(() -> {
+            ConfigurableApplicationContext context = event.getApplicationContext();
+            run(context, "ft.deferred.springdoc", deferredBeans::initializeDeferredBeans);
+            run(context, "ft.deferred.kafka-producer", () -> {
+                var events = properties.events();
+                for (String topic : List.of(events.newFeatures(), events.updatedFeatures(), events.deletedFeatures())) {
+                    kafkaTemplate.partitionsFor(topic);
+                }
+            });
+            flyway.ifAvailable(f -> run(context, "ft.deferred.flyway-validate", () -> {
+                ValidateResult result = f.validateWithResult();
+                if (!result.validationSuccessful) {
+                    log.error("Flyway validation failed: {}", result.getAllErrorMessages());
+                }
+            }));
+        });
+    }
+
+    private static void run(ConfigurableApplicationContext context, String name, Runnable task) {
+        StartupStep step = context.getApplicationStartup().start(name);
+        long start = System.nanoTime();
+        try {
+            task.run();
+            log.info("{} done in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            step.tag("error", e.getClass().getSimpleName());
+            log.warn("{} failed", name, e);
+        } finally {
+            step.end();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sivalabs.ft.features.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.api.ServerTimingAspect;
+import com.sivalabs.ft.features.api.ServerTimingFilter;
+import com.sivalabs.ft.features.api.TrafficCaptureFilter;
+import com.sivalabs.ft.features.api.TrafficCaptureWriter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationFilter;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+class ObservabilityConfig {
+
+    /**
+     * Tags the {@code ft.*} observations of services and the event publisher with their outcome,
+     * in addition to the class and method tags added by {@code @Observed}.
+     */
+    @Bean
+    ObservationFilter outcomeObservationFilter() {
+        return context -> {
+            if (context.getName() != null && context.getName().startsWith("ft.")) {
+                context.addLowCardinalityKeyValue(
+                        KeyValue.of("outcome", context.getError() == null ? "SUCCESS" : "ERROR"));
+            }
+            return context;
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ft.observability.server-timing.enabled", havingValue = "true")
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ft.observability.server-timing.enabled", havingValue = "true")
+    ServerTimingAspect serverTimingAspect() {
+        return new ServerTimingAspect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ft.traffic-capture.enabled", havingValue = "true")
+    TrafficCaptureWriter trafficCaptureWriter(
+            ApplicationProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        var capture = properties.trafficCapture();
+        return new TrafficCaptureWriter(Path.of(capture.file()), capture.queueCapacity(), objectMapper, meterRegistry);
+    }
+
+    /**
+     * Registered after the Spring Security filters, which set the user that is recorded. Requests rejected by them
+     * are not recorded.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "ft.traffic-capture.enabled", havingValue = "true")
+    FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(
+            TrafficCaptureWriter writer, ApplicationProperties properties, ObjectMapper objectMapper) {
+        var capture = properties.trafficCapture();
+        var filter = new TrafficCaptureFilter(
+                writer, objectMapper, capture.maxBodySize(), capture.redactedFields(), capture.pseudonymKey());
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Average time taken to get a connection from the primary pool, recent waits weighing the most.
+ * <p>
+ * The average also decays with time, so that it falls back to zero when no connection is requested, e.g. once the load
+ * balancer stops sending traffic because the pool was saturated. A connection timeout counts as a wait of the whole
+ * connection timeout.
+ */
+@Component
+class PoolPressure {
+    private static final double SAMPLE_WEIGHT = 0.1;
+
+    private final double windowNanos;
+    private final LongSupplier nanoClock;
+    private double averageNanos;
+    private long updatedAt;
+
+    PoolPressure(ApplicationProperties properties) {
+        this(properties.dbPool().waitWindow().toNanos(), System::nanoTime);
+    }
+
+    PoolPressure(long windowNanos, LongSupplier nanoClock) {
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.updatedAt = nanoClock.getAsLong();
+    }
+
+    synchronized void recordWait(long nanos) {
+        long now = nanoClock.getAsLong();
+        double average = decayed(now);
+        averageNanos = average + SAMPLE_WEIGHT * (nanos - average);
+        updatedAt = now;
+    }
+
+    synchronized long averageWaitNanos() {
+        return (long) decayed(nanoClock.getAsLong());
+    }
+
+    private double decayed(long now) {
+        return averageNanos * Math.exp(-(now - updatedAt) / windowNanos);
+    }
+}
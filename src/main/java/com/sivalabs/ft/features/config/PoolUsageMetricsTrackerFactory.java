@@ -0,0 +1,68 @@
+package com.sivalabs.ft.features.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passes the connection waits and hold times of a pool to {@link ConnectionUsage} and {@link PoolPressure}, on top
+ * of the metrics of the delegate factory.
+ * <p>
+ * Only the pool this factory was set on is tracked: the pools copying its settings, such as the read replica ones,
+ * only get the metrics of the delegate. An unreachable replica must not count as a saturated primary.
+ */
+class PoolUsageMetricsTrackerFactory implements MetricsTrackerFactory {
+    private final MetricsTrackerFactory delegate;
+    private final HikariConfig pool;
+    private final PoolPressure pressure;
+    private final long connectionTimeoutNanos;
+
+    PoolUsageMetricsTrackerFactory(MetricsTrackerFactory delegate, HikariConfig pool, PoolPressure pressure) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.pressure = pressure;
+        this.connectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(pool.getConnectionTimeout());
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.create(poolName, poolStats);
+        // the pool name is assigned when the pool starts, before its tracker is created
+        if (!poolName.equals(pool.getPoolName())) {
+            return tracker;
+        }
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                ConnectionUsage.recordWait(elapsedAcquiredNanos);
+                pressure.recordWait(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                ConnectionUsage.recordHold(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+                ConnectionUsage.recordWait(connectionTimeoutNanos);
+                pressure.recordWait(connectionTimeoutNanos);
+            }
+
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
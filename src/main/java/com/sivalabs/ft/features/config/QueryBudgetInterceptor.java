@@ -0,0 +1,69 @@
+package com.sivalabs.ft.features.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of SQL statements executed by each request, per endpoint,
+ * and reports the requests that go over the configured query budget.
+ * When the budget is enforced, the statement going over the budget fails, and so does the request.
+ */
+class QueryBudgetInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+    private static final String COUNTER_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+    private final int queryBudget;
+    private final boolean enforced;
+
+    QueryBudgetInterceptor(MeterRegistry meterRegistry, int queryBudget, boolean enforced) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+        this.enforced = enforced;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(COUNTER_ATTRIBUTE, enforced ? QueryCounter.open(queryBudget) : QueryCounter.open());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(COUNTER_ATTRIBUTE) instanceof QueryCounter counter)) {
+            return;
+        }
+        counter.close();
+        long statements = counter.count();
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : "UNKNOWN";
+        DistributionSummary.builder("ft.db.statements")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > queryBudget) {
+            log.warn(
+                    "{} {} executed {} SQL statements, over the budget of {}",
+                    request.getMethod(),
+                    uri,
+                    statements,
+                    queryBudget);
+            Counter.builder("ft.db.statements.budget.exceeded")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts the SQL statements of each request to make N+1 queries visible.
+ * All the data access goes through Hibernate, so a {@link StatementInspector} sees every statement.
+ */
+@Configuration
+class QueryCountConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+    private final ApplicationProperties properties;
+
+    QueryCountConfig(MeterRegistry meterRegistry, ApplicationProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementCountingCustomizer() {
+        StatementInspector inspector = sql -> {
+            QueryCounter.increment();
+            return sql;
+        };
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        var observability = properties.observability();
+        registry.addInterceptor(new QueryBudgetInterceptor(
+                meterRegistry, observability.queryBudget(), observability.queryBudgetEnforced()));
+    }
+}
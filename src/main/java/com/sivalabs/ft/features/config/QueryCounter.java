@@ -0,0 +1,63 @@
+package com.sivalabs.ft.features.config;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread while the counter is open.
+ * Counters can be nested; a statement is counted by every open counter.
+ * A counter opened with a limit makes the statements over the limit fail with an {@link IllegalStateException}.
+ *
+ * <pre>{@code
+ * try (var counter = QueryCounter.open()) {
+ *     ...
+ *     long statements = counter.count();
+ * }
+ * }</pre>
+ */
+public final class QueryCounter implements AutoCloseable {
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final QueryCounter parent;
+    private final long limit;
+    private long count;
+
+    private QueryCounter(QueryCounter parent, long limit) {
+        this.parent = parent;
+        this.limit = limit;
+    }
+
+    public static QueryCounter open() {
+        return open(Long.MAX_VALUE);
+    }
+
+    public static QueryCounter open(long limit) {
+        QueryCounter counter = new QueryCounter(CURRENT.get(), limit);
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void increment() {
+        for (QueryCounter counter = CURRENT.get(); counter != null; counter = counter.parent) {
+            counter.count++;
+        }
+        for (QueryCounter counter = CURRENT.get(); counter != null; counter = counter.parent) {
+            if (counter.count > counter.limit) {
+                throw new IllegalStateException(
+                        "Executed %d SQL statements, over the budget of %d".formatted(counter.count, counter.limit));
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
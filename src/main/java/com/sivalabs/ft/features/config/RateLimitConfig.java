@@ -0,0 +1,26 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class RateLimitConfig implements WebMvcConfigurer {
+    private final ApplicationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    RateLimitConfig(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.rateLimit().enabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(properties.rateLimit(), meterRegistry))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sivalabs.ft.features.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sivalabs.ft.features.ApplicationProperties.RateLimitProperties;
+import com.sivalabs.ft.features.api.utils.SecurityUtils;
+import com.sivalabs.ft.features.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Limits the write requests of each user on each route with a token bucket,
+ * so that a single client can't exhaust the database pool for everyone else.
+ * Buckets of idle clients are dropped and their number is bounded.
+ */
+class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod())
+                || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String route = request.getMethod() + " " + routePattern(request);
+        String client = SecurityUtils.getCurrentUsername();
+        String key = (client != null ? client : request.getRemoteAddr()) + " " + route;
+        long now = System.nanoTime();
+        TokenBucket bucket =
+                buckets.get(key, k -> new TokenBucket(properties.capacity(), properties.refillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        boolean allowed = waitNanos == 0;
+        counter(route, allowed).increment();
+        if (!allowed) {
+            throw new TooManyRequestsException(
+                    "Too many requests for " + route + ", retry later", Duration.ofNanos(waitNanos));
+        }
+        return true;
+    }
+
+    private Counter counter(String route, boolean allowed) {
+        return Counter.builder("ft.ratelimit.requests")
+                .description("Write requests checked against the rate limit")
+                .tag("route", route)
+                .tag("outcome", allowed ? "ALLOWED" : "REJECTED")
+                .register(meterRegistry);
+    }
+
+    private static String routePattern(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : request.getRequestURI();
+    }
+}
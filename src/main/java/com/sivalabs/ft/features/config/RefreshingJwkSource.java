@@ -0,0 +1,186 @@
+package com.sivalabs.ft.features.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Serves the token signing keys from memory so that validating a token never waits on the identity provider.
+ * <p>
+ * The keys are loaded from a local snapshot at startup and refreshed from the JWK Set endpoint in the background,
+ * on a fixed interval with random jitter so that instances don't refresh in lockstep.
+ * A token signed with an unknown key (e.g. after a key rotation) triggers an early, rate-limited refresh,
+ * but is rejected rather than blocked until the refresh completes.
+ * Every successful refresh rewrites the snapshot.
+ */
+class RefreshingJwkSource implements JWKSource<SecurityContext>, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String jwkSetUri;
+    private final Path snapshot;
+    private final Duration refreshInterval;
+    private final Duration refreshJitter;
+    private final Duration minRefreshInterval;
+    private final TaskScheduler taskScheduler;
+    private final RestClient restClient;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean earlyRefreshScheduled = new AtomicBoolean();
+
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile Instant lastRefreshAt = Instant.EPOCH;
+    private volatile ScheduledFuture<?> scheduledRefresh;
+
+    RefreshingJwkSource(
+            String jwkSetUri,
+            Path snapshot,
+            Duration refreshInterval,
+            Duration refreshJitter,
+            Duration minRefreshInterval,
+            TaskScheduler taskScheduler,
+            RestClient.Builder restClientBuilder) {
+        this.jwkSetUri = jwkSetUri;
+        this.snapshot = snapshot;
+        this.refreshInterval = refreshInterval;
+        this.refreshJitter = refreshJitter;
+        this.minRefreshInterval = minRefreshInterval;
+        this.taskScheduler = taskScheduler;
+        var requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(FETCH_TIMEOUT);
+        requestFactory.setReadTimeout(FETCH_TIMEOUT);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet);
+        if (keys.isEmpty()) {
+            refreshInBackground();
+        }
+        return keys;
+    }
+
+    @Override
+    public void start() {
+        loadSnapshot();
+        Trigger trigger = triggerContext -> {
+            Instant last = triggerContext.lastCompletion();
+            if (last == null && jwkSet.getKeys().isEmpty()) {
+                return Instant.now();
+            }
+            long jitterMillis = ThreadLocalRandom.current().nextLong(refreshJitter.toMillis() + 1);
+            Instant base = last == null ? Instant.now() : last;
+            return base.plus(refreshInterval).plusMillis(jitterMillis);
+        };
+        scheduledRefresh = taskScheduler.schedule(this::refresh, trigger);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> future = scheduledRefresh;
+        if (future != null) {
+            future.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduledRefresh != null;
+    }
+
+    /**
+     * Schedules an early refresh, unless the keys were refreshed less than the minimum interval ago or an early
+     * refresh is already scheduled, so that a burst of tokens signed with unknown keys results in a single fetch.
+     */
+    private void refreshInBackground() {
+        if (isRecentlyRefreshed() || !earlyRefreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskScheduler.schedule(this::earlyRefresh, Instant.now());
+        } catch (RuntimeException e) {
+            earlyRefreshScheduled.set(false);
+            throw e;
+        }
+    }
+
+    private void earlyRefresh() {
+        earlyRefreshScheduled.set(false);
+        // a scheduled refresh, or an early refresh claimed before the previous one completed, may have run since
+        if (!isRecentlyRefreshed()) {
+            refresh();
+        }
+    }
+
+    private boolean isRecentlyRefreshed() {
+        return Instant.now().isBefore(lastRefreshAt.plus(minRefreshInterval));
+    }
+
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastRefreshAt = Instant.now();
+            String body = restClient.get().uri(jwkSetUri).retrieve().body(String.class);
+            JWKSet fetched = JWKSet.parse(body);
+            jwkSet = fetched;
+            log.debug("Refreshed {} signing keys from {}", fetched.getKeys().size(), jwkSetUri);
+            writeSnapshot(fetched);
+        } catch (Exception e) {
+            log.warn("Failed to refresh signing keys from {}, keeping the current keys: {}", jwkSetUri, e.toString());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshot == null || !Files.isReadable(snapshot)) {
+            log.info("No signing keys snapshot at {}, fetching keys from {}", snapshot, jwkSetUri);
+            return;
+        }
+        try {
+            jwkSet = JWKSet.parse(Files.readString(snapshot, StandardCharsets.UTF_8));
+            log.info("Loaded {} signing keys from {}", jwkSet.getKeys().size(), snapshot);
+        } catch (IOException | ParseException e) {
+            log.warn("Ignoring unreadable signing keys snapshot {}: {}", snapshot, e.toString());
+        }
+    }
+
+    private void writeSnapshot(JWKSet keys) {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Path dir = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "jwks", ".tmp");
+            Files.writeString(tmp, keys.toString(true), StandardCharsets.UTF_8);
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write signing keys snapshot {}: {}", snapshot, e.toString());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Keeps the rows read from a replica out of the Hibernate second-level cache, which is shared by all the requests.
+ * <p>
+ * A replica may not have caught up with a committed write yet: an entity, natural id or query result read from it
+ * would be cached as if it were newer than the write, and served from the cache to every request until it expires.
+ * So read-only transactions, which may use a replica, only read from the cache ({@link CacheMode#GET}). The requests
+ * pinned with {@link PrimaryReads#pin()} bypass the cache and refresh it with what they read from the primary
+ * ({@link CacheMode#REFRESH}).
+ */
+class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        entityManager.unwrap(Session.class).setCacheMode(cacheMode(definition.isReadOnly()));
+        return transactionData;
+    }
+
+    static CacheMode cacheMode(boolean readOnly) {
+        if (PrimaryReads.isPinned()) {
+            return CacheMode.REFRESH;
+        }
+        return readOnly ? CacheMode.GET : CacheMode.NORMAL;
+    }
+}
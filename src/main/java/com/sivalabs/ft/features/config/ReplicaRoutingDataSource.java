@@ -0,0 +1,142 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read-only transactions to the replicas, round-robin, and everything else to the primary.
+ * <p>
+ * Replicas are checked periodically: one that cannot be reached, or that lags behind the primary by more than
+ * {@code ft.replicas.max-lag}, gets no traffic until a later check succeeds. Without a usable replica, and for
+ * the requests pinned with {@link PrimaryReads#pin()}, read-only transactions use the primary as well.
+ * <p>
+ * The read-only flag of the transaction is only known once it has started,
+ * so this must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final String LAG_QUERY =
+            """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end
+            """;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    ReplicaRoutingDataSource(
+            DataSource primary, List<DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = IntStream.range(0, replicas.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicas.get(i)))
+                .toList();
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.key(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryConnections = counter(meterRegistry, "primary");
+        this.replicaConnections = counter(meterRegistry, "replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int size = replicas.size();
+        if (size > 0 && TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PrimaryReads.isPinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.healthy) {
+                    replicaConnections.increment();
+                    return replica.key();
+                }
+            }
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    @Scheduled(fixedDelayString = "${ft.replicas.health-check-interval:PT5S}")
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica);
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.key(), healthy ? "used" : "skipped");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean isHealthy(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            if (lagSeconds * 1000 > maxLag.toMillis()) {
+                log.debug("Replica {} lags {}s behind the primary", replica.key(), lagSeconds);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.debug("Replica {} is not reachable", replica.key(), e);
+            return false;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("ft.datasource.connections")
+                .description("Connections handed out by the read replica routing, by target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+        String key() {
+            return key;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package com.sivalabs.ft.features.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sivalabs.ft.features.ApplicationProperties;
+import java.nio.file.Path;
+import java.util.Set;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.CorsConfigurer;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.client.RestClient;
 
 @Configuration
 @EnableWebSecurity
 class SecurityConfig {
+    private static final Set<JWSAlgorithm> SIGNING_ALGORITHMS = Set.of(
+            JWSAlgorithm.RS256,
+            JWSAlgorithm.RS384,
+            JWSAlgorithm.RS512,
+            JWSAlgorithm.PS256,
+            JWSAlgorithm.ES256,
+            JWSAlgorithm.ES384);
 
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -24,7 +44,8 @@ class SecurityConfig {
                                 "/swagger-ui.*",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
-                                "/v3/api-docs.*")
+                                "/v3/api-docs.*",
+                                "/openapi/**")
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/products/**")
                         .permitAll()
@@ -42,4 +63,41 @@ class SecurityConfig {
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
         return http.build();
     }
+
+    /**
+     * Validates tokens against the keys of {@link RefreshingJwkSource}, which never fetches keys on a request thread,
+     * behind a cache of validated tokens.
+     */
+    @Bean
+    JwtDecoder jwtDecoder(
+            OAuth2ResourceServerProperties resourceServerProperties,
+            RefreshingJwkSource jwkSource,
+            ApplicationProperties properties) {
+        var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(SIGNING_ALGORITHMS, jwkSource));
+        // claims are validated by the Spring Security validators below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+        var decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(
+                resourceServerProperties.getJwt().getIssuerUri()));
+        var security = properties.security();
+        return new CachingJwtDecoder(decoder, security.jwtCacheMaxSize(), security.jwtCacheMaxTtl());
+    }
+
+    @Bean
+    RefreshingJwkSource jwkSource(
+            OAuth2ResourceServerProperties resourceServerProperties,
+            ApplicationProperties properties,
+            TaskScheduler taskScheduler,
+            RestClient.Builder restClientBuilder) {
+        var security = properties.security();
+        return new RefreshingJwkSource(
+                resourceServerProperties.getJwt().getJwkSetUri(),
+                Path.of(security.jwksSnapshot()),
+                security.jwksRefreshInterval(),
+                security.jwksRefreshJitter(),
+                security.jwksMinRefreshInterval(),
+                taskScheduler,
+                restClientBuilder);
+    }
 }
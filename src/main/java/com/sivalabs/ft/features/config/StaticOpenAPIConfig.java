@@ -0,0 +1,22 @@
+package com.sivalabs.ft.features.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * With springdoc disabled, serves the OpenAPI spec generated at build time by the {@code openapi} Maven profile at the
+ * usual {@code /v3/api-docs} location. The resource chain serves the precompressed {@code openapi.json.gz} to clients
+ * accepting gzip.
+ */
+@Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "false")
+class StaticOpenAPIConfig implements WebMvcConfigurer {
+    private static final String STATIC_SPEC = "/openapi/openapi.json";
+
+    @Override
+    public void addViewControllers(ViewControllerRegistry registry) {
+        registry.addViewController("/v3/api-docs").setViewName("forward:" + STATIC_SPEC);
+    }
+}
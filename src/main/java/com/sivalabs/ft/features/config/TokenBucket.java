@@ -0,0 +1,39 @@
+package com.sivalabs.ft.features.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm:
+ * instead of a token count it keeps the theoretical arrival time of the next request,
+ * so the whole state fits in a single {@link AtomicLong} updated with compare-and-set.
+ */
+final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = capacity * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds to wait until one is available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sivalabs.ft.features.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version of the products, releases and features, incremented each time one of them changes.
+ * Data read while the version was {@code n} is known to be current as long as the version is still {@code n}.
+ */
+@Component
+public class CatalogVersion {
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Increments the version once the current transaction commits, so that the change is visible to the
+     * readers seeing the new version. Outside of a transaction the version is incremented right away.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
@@ -40,6 +40,8 @@ public class Commands {
 
     public record DeleteFeatureCommand(String code, String deletedBy) {}
 
+    public record DeleteFeaturesCommand(String productCode, String releaseCode, String deletedBy) {}
+
     /* Comment Commands */
     public record CreateCommentCommand(String featureCode, String content, String createdBy) {}
 }
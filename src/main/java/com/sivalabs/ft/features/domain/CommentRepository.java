@@ -1,7 +1,12 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Comment;
+import com.sivalabs.ft.features.domain.models.FeatureCommentCount;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -13,8 +18,48 @@ interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("delete from Comment c where c.createdBy = :userId and c.id = :commentId")
     int deleteComment(Long commentId, String userId);
 
-    @Query("""
-            select c from Comment c where c.feature.code = :featureCode
+    @Modifying
+    @Query(
+            """
+            delete from Comment c
+            where c.feature.id = (select f.id from Feature f where f.code = :featureCode)
+            """)
+    int deleteByFeatureCode(String featureCode);
+
+    @Modifying
+    @Query("delete from Comment c where c.feature.id in :featureIds")
+    int deleteByFeatureIds(Collection<Long> featureIds);
+
+    @Query(
+            """
+            select c from Comment c join fetch c.feature f
+            where f.code = :featureCode
+            order by c.createdAt, c.id
             """)
     List<Comment> findCommentsByFeatureCode(String featureCode, PageRequest pageRequest);
+
+    @Query(
+            """
+            select c from Comment c join fetch c.feature f
+            where f.code = :featureCode
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findFirstCommentsByFeatureCode(String featureCode, Limit limit);
+
+    @Query(
+            """
+            select c from Comment c join fetch c.feature f
+            where f.code = :featureCode and (c.createdAt, c.id) > (:createdAt, :id)
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findCommentsByFeatureCodeAfter(String featureCode, Instant createdAt, Long id, Limit limit);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.models.FeatureCommentCount(f.code, count(c))
+            from Comment c join c.feature f
+            where f.code in :featureCodes
+            group by f.code
+            """)
+    List<FeatureCommentCount> countCommentsByFeatureCodes(Set<String> featureCodes);
 }
@@ -1,18 +1,28 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.dtos.CommentSliceDto;
 import com.sivalabs.ft.features.domain.entities.Comment;
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.CommentMapper;
+import com.sivalabs.ft.features.domain.models.CommentCursor;
+import com.sivalabs.ft.features.domain.models.FeatureCommentCount;
+import io.micrometer.observation.annotation.Observed;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Observed(name = "ft.service")
 public class CommentService {
+    public static final int MAX_PAGE_SIZE = 100;
     private final CommentRepository commentRepository;
     private final FeatureRepository featureRepository;
     private final CommentMapper commentMapper;
@@ -54,4 +64,48 @@ public class CommentService {
         List<Comment> comments = commentRepository.findCommentsByFeatureCode(featureCode, pageRequest);
         return comments.stream().map(commentMapper::toDto).toList();
     }
+
+    /**
+     * Keyset (cursor based) paging ordered by {@code (createdAt, id)}.
+     * Cost does not grow with the page depth, unlike offset based paging.
+     */
+    @Transactional(readOnly = true)
+    public CommentSliceDto findCommentsByFeatureCode(String featureCode, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // fetch one extra row to find out whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findFirstCommentsByFeatureCode(featureCode, limit);
+        } else {
+            CommentCursor position = CommentCursor.decode(cursor);
+            comments = commentRepository.findCommentsByFeatureCodeAfter(
+                    featureCode, position.createdAt(), position.id(), limit);
+        }
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.getLast();
+            nextCursor = new CommentCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CommentSliceDto(comments.stream().map(commentMapper::toDto).toList(), nextCursor);
+    }
+
+    /**
+     * Returns the number of comments per feature code using a single grouped query.
+     * Features without comments are not present in the returned map.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getCommentCounts(Set<String> featureCodes) {
+        if (featureCodes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> result = new HashMap<>();
+        for (FeatureCommentCount count : commentRepository.countCommentsByFeatureCodes(featureCodes)) {
+            result.put(count.featureCode(), count.commentsCount());
+        }
+        return result;
+    }
 }
@@ -0,0 +1,99 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.FeatureStatusTransition;
+import com.sivalabs.ft.features.domain.models.HistogramBucket;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Maintains the lead and cycle time histograms of released features per product and release.
+ * A sample is added when a feature is released, so reports never scan the transition log.
+ * Each sample is also kept in {@code cycle_time_samples} with the product and release it was counted in,
+ * so that it can be taken out of the histograms again when the feature is reopened, moved or deleted.
+ */
+interface CycleTimeHistogramRepository extends Repository<FeatureStatusTransition, Long> {
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select h.bucket as bucket, h.sample_count as "sampleCount"
+            from cycle_time_histograms h
+            where h.scope = :scope and h.scope_id = :scopeId and h.metric = :metric and h.sample_count > 0
+            order by h.bucket
+            """)
+    List<HistogramBucket> findBuckets(String scope, Long scopeId, String metric);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_samples"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into cycle_time_samples (feature_id, metric, product_id, release_id, bucket)
+            values (:featureId, :metric, :productId, :releaseId, :bucket)
+            """)
+    void insertSample(Long featureId, String metric, Long productId, Long releaseId, int bucket);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_samples"))
+    @Query(nativeQuery = true, value = "delete from cycle_time_samples where feature_id in (:featureIds)")
+    int deleteSamples(Collection<Long> featureIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_samples"))
+    @Query(
+            nativeQuery = true,
+            value = "update cycle_time_samples set release_id = :releaseId where feature_id = :featureId")
+    int updateSampleRelease(Long featureId, Long releaseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_samples"))
+    @Query(nativeQuery = true, value = "update cycle_time_samples set release_id = null where release_id = :releaseId")
+    void detachSamplesFromRelease(Long releaseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_histograms"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into cycle_time_histograms (scope, scope_id, metric, bucket, sample_count)
+            select 'PRODUCT', product_id, metric, bucket, count(*) from cycle_time_samples
+            where feature_id in (:featureIds) group by product_id, metric, bucket
+            union all
+            select 'RELEASE', release_id, metric, bucket, count(*) from cycle_time_samples
+            where feature_id in (:featureIds) and release_id is not null group by release_id, metric, bucket
+            on conflict (scope, scope_id, metric, bucket)
+            do update set sample_count = cycle_time_histograms.sample_count + excluded.sample_count
+            """)
+    void addSamplesToHistograms(Collection<Long> featureIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_histograms"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            update cycle_time_histograms h set sample_count = h.sample_count - d.cnt
+            from (select 'PRODUCT' as scope, product_id as scope_id, metric, bucket, count(*) as cnt
+                  from cycle_time_samples where feature_id in (:featureIds) group by product_id, metric, bucket
+                  union all
+                  select 'RELEASE', release_id, metric, bucket, count(*)
+                  from cycle_time_samples where feature_id in (:featureIds) and release_id is not null
+                  group by release_id, metric, bucket) d
+            where h.scope = d.scope and h.scope_id = d.scope_id and h.metric = d.metric and h.bucket = d.bucket
+            """)
+    void removeSamplesFromHistograms(Collection<Long> featureIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cycle_time_histograms"))
+    @Query(nativeQuery = true, value = "delete from cycle_time_histograms where scope = :scope and scope_id = :scopeId")
+    void deleteByScope(String scope, Long scopeId);
+}
@@ -0,0 +1,154 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.CycleTimeReportDto;
+import com.sivalabs.ft.features.domain.dtos.PercentilesDto;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.entities.FeatureStatusTransition;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
+import com.sivalabs.ft.features.domain.models.AnalyticsScope;
+import com.sivalabs.ft.features.domain.models.CycleTimeMetric;
+import com.sivalabs.ft.features.domain.models.DurationBuckets;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.HistogramBucket;
+import io.micrometer.observation.annotation.Observed;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Observed(name = "ft.service")
+public class CycleTimeService {
+    private final FeatureStatusTransitionRepository transitionRepository;
+    private final CycleTimeHistogramRepository histogramRepository;
+    private final ProductRepository productRepository;
+    private final ReleaseRepository releaseRepository;
+
+    CycleTimeService(
+            FeatureStatusTransitionRepository transitionRepository,
+            CycleTimeHistogramRepository histogramRepository,
+            ProductRepository productRepository,
+            ReleaseRepository releaseRepository) {
+        this.transitionRepository = transitionRepository;
+        this.histogramRepository = histogramRepository;
+        this.productRepository = productRepository;
+        this.releaseRepository = releaseRepository;
+    }
+
+    /**
+     * Appends a status transition to the feature history and, when the feature is released,
+     * adds its lead and cycle times to the product and release histograms.
+     * The samples of a previous release of the feature are taken out first, so that a feature that is reopened
+     * is not counted anymore, and a feature released again is counted once, as of its latest release.
+     */
+    @Transactional
+    public void recordStatusChange(Feature feature, FeatureStatus fromStatus, String changedBy, Instant changedAt) {
+        FeatureStatus toStatus = feature.getStatus();
+        transitionRepository.save(
+                new FeatureStatusTransition(feature.getId(), fromStatus, toStatus, changedBy, changedAt));
+        if (fromStatus == FeatureStatus.RELEASED || toStatus == FeatureStatus.RELEASED) {
+            removeSamples(List.of(feature.getId()));
+        }
+        if (toStatus != FeatureStatus.RELEASED) {
+            return;
+        }
+        addSample(feature, CycleTimeMetric.LEAD_TIME, Duration.between(feature.getCreatedAt(), changedAt));
+        transitionRepository
+                .findFirstTransitionAt(feature.getId(), FeatureStatus.IN_PROGRESS)
+                .ifPresent(startedAt ->
+                        addSample(feature, CycleTimeMetric.CYCLE_TIME, Duration.between(startedAt, changedAt)));
+        histogramRepository.addSamplesToHistograms(List.of(feature.getId()));
+    }
+
+    /**
+     * Moves the samples of a released feature from the histograms of its previous release to the ones of its
+     * current release.
+     */
+    @Transactional
+    public void recordReleaseChange(Feature feature) {
+        List<Long> featureIds = List.of(feature.getId());
+        Long releaseId =
+                feature.getRelease() == null ? null : feature.getRelease().getId();
+        histogramRepository.removeSamplesFromHistograms(featureIds);
+        if (histogramRepository.updateSampleRelease(feature.getId(), releaseId) > 0) {
+            histogramRepository.addSamplesToHistograms(featureIds);
+        }
+    }
+
+    /**
+     * Takes the samples of the given features out of the histograms, before the features are deleted.
+     */
+    @Transactional
+    public void removeSamples(Collection<Long> featureIds) {
+        histogramRepository.removeSamplesFromHistograms(featureIds);
+        histogramRepository.deleteSamples(featureIds);
+    }
+
+    private void addSample(Feature feature, CycleTimeMetric metric, Duration duration) {
+        histogramRepository.insertSample(
+                feature.getId(),
+                metric.name(),
+                feature.getProduct().getId(),
+                feature.getRelease() == null ? null : feature.getRelease().getId(),
+                DurationBuckets.bucketOf(duration));
+    }
+
+    @Transactional(readOnly = true)
+    public CycleTimeReportDto getCycleTimeReport(String productCode, String releaseCode) {
+        boolean byProduct = productCode != null && !productCode.isBlank();
+        boolean byRelease = releaseCode != null && !releaseCode.isBlank();
+        if (byProduct == byRelease) {
+            throw new BadRequestException("Exactly one of productCode or releaseCode is required");
+        }
+        if (byProduct) {
+            Long productId = productRepository
+                    .findByCode(productCode)
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Product with code %s not found".formatted(productCode)))
+                    .getId();
+            return getReport(AnalyticsScope.PRODUCT, productId, productCode);
+        }
+        Long releaseId = releaseRepository
+                .findByCode(releaseCode)
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("Release with code %s not found".formatted(releaseCode)))
+                .getId();
+        return getReport(AnalyticsScope.RELEASE, releaseId, releaseCode);
+    }
+
+    private CycleTimeReportDto getReport(AnalyticsScope scope, Long scopeId, String code) {
+        return new CycleTimeReportDto(
+                scope,
+                code,
+                percentiles(histogramRepository.findBuckets(scope.name(), scopeId, CycleTimeMetric.LEAD_TIME.name())),
+                percentiles(histogramRepository.findBuckets(scope.name(), scopeId, CycleTimeMetric.CYCLE_TIME.name())));
+    }
+
+    private static PercentilesDto percentiles(List<HistogramBucket> buckets) {
+        long samples = buckets.stream().mapToLong(HistogramBucket::sampleCount).sum();
+        if (samples == 0) {
+            return new PercentilesDto(0, null, null, null, null);
+        }
+        return new PercentilesDto(
+                samples,
+                percentile(buckets, samples, 0.50),
+                percentile(buckets, samples, 0.75),
+                percentile(buckets, samples, 0.90),
+                percentile(buckets, samples, 0.95));
+    }
+
+    private static Double percentile(List<HistogramBucket> buckets, long samples, double quantile) {
+        long rank = (long) Math.ceil(quantile * samples);
+        long seen = 0;
+        for (HistogramBucket bucket : buckets) {
+            seen += bucket.sampleCount();
+            if (seen >= rank) {
+                return DurationBuckets.upperBoundMinutes(bucket.bucket());
+            }
+        }
+        return DurationBuckets.upperBoundMinutes(buckets.getLast().bucket());
+    }
+}
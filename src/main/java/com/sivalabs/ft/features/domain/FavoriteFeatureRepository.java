@@ -2,6 +2,7 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.FavoriteFeature;
 import com.sivalabs.ft.features.domain.models.UserFavoriteFeature;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -29,6 +30,10 @@ interface FavoriteFeatureRepository extends JpaRepository<FavoriteFeature, Long>
             """)
     void deleteByFeatureCode(String featureCode);
 
+    @Modifying
+    @Query("delete from FavoriteFeature ff where ff.featureId in :featureIds")
+    int deleteByFeatureIds(Collection<Long> featureIds);
+
     @Query(
             nativeQuery = true,
             value =
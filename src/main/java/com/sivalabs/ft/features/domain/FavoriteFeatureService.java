@@ -4,6 +4,7 @@ import com.sivalabs.ft.features.domain.entities.FavoriteFeature;
 import com.sivalabs.ft.features.domain.entities.Feature;
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.models.UserFavoriteFeature;
+import io.micrometer.observation.annotation.Observed;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Observed(name = "ft.service")
 public class FavoriteFeatureService {
     private final FavoriteFeatureRepository favoriteFeatureRepository;
     private final FeatureRepository featureRepository;
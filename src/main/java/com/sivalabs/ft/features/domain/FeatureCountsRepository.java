@@ -0,0 +1,96 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.models.FeatureStatusCount;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Maintains the number of features per status for each product and release.
+ * The counts are adjusted in the same transaction as the feature changes.
+ */
+interface FeatureCountsRepository extends Repository<Feature, Long> {
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select c.status as status, c.feature_count as "featureCount"
+            from product_feature_counts c join products p on p.id = c.product_id
+            where p.code = :productCode
+            """)
+    List<FeatureStatusCount> findProductFeatureCounts(String productCode);
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select c.status as status, c.feature_count as "featureCount"
+            from release_feature_counts c join releases r on r.id = c.release_id
+            where r.code = :releaseCode
+            """)
+    List<FeatureStatusCount> findReleaseFeatureCounts(String releaseCode);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_feature_counts"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into product_feature_counts (product_id, status, feature_count)
+            values (:productId, :status, :delta)
+            on conflict (product_id, status)
+            do update set feature_count = product_feature_counts.feature_count + excluded.feature_count
+            """)
+    void adjustProductFeatureCount(Long productId, String status, long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "release_feature_counts"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into release_feature_counts (release_id, status, feature_count)
+            values (:releaseId, :status, :delta)
+            on conflict (release_id, status)
+            do update set feature_count = release_feature_counts.feature_count + excluded.feature_count
+            """)
+    void adjustReleaseFeatureCount(Long releaseId, String status, long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_feature_counts"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            update product_feature_counts c set feature_count = c.feature_count - d.cnt
+            from (select product_id, status, count(*) as cnt from features
+                  where id in (:featureIds) group by product_id, status) d
+            where c.product_id = d.product_id and c.status = d.status
+            """)
+    void decrementProductFeatureCounts(Collection<Long> featureIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "release_feature_counts"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            update release_feature_counts c set feature_count = c.feature_count - d.cnt
+            from (select release_id, status, count(*) as cnt from features
+                  where id in (:featureIds) and release_id is not null group by release_id, status) d
+            where c.release_id = d.release_id and c.status = d.status
+            """)
+    void decrementReleaseFeatureCounts(Collection<Long> featureIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "release_feature_counts"))
+    @Query(nativeQuery = true, value = "delete from release_feature_counts where release_id = :releaseId")
+    void deleteReleaseFeatureCounts(Long releaseId);
+}
@@ -0,0 +1,112 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.events.EventPublisher;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Removes features together with their favorites, comments, status history and cycle-time samples using
+ * set based statements, one bounded chunk per transaction, so that large deletions don't hold locks for long.
+ */
+@Component
+class FeaturePurger {
+    private static final Logger log = LoggerFactory.getLogger(FeaturePurger.class);
+
+    private final FeatureRepository featureRepository;
+    private final FavoriteFeatureRepository favoriteFeatureRepository;
+    private final CommentRepository commentRepository;
+    private final FeatureStatusTransitionRepository featureStatusTransitionRepository;
+    private final CycleTimeService cycleTimeService;
+    private final FeatureCountsRepository featureCountsRepository;
+    private final EventPublisher eventPublisher;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    FeaturePurger(
+            FeatureRepository featureRepository,
+            FavoriteFeatureRepository favoriteFeatureRepository,
+            CommentRepository commentRepository,
+            FeatureStatusTransitionRepository featureStatusTransitionRepository,
+            CycleTimeService cycleTimeService,
+            FeatureCountsRepository featureCountsRepository,
+            EventPublisher eventPublisher,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            ApplicationProperties properties) {
+        this.featureRepository = featureRepository;
+        this.favoriteFeatureRepository = favoriteFeatureRepository;
+        this.commentRepository = commentRepository;
+        this.featureStatusTransitionRepository = featureStatusTransitionRepository;
+        this.cycleTimeService = cycleTimeService;
+        this.featureCountsRepository = featureCountsRepository;
+        this.eventPublisher = eventPublisher;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.features().deletionChunkSize();
+    }
+
+    @Async
+    public CompletableFuture<Integer> purgeByProduct(String productCode, String deletedBy) {
+        int count = purge(limit -> featureRepository.findByProductCodeOrderById(productCode, limit), deletedBy);
+        log.info("Deleted {} features of product {}", count, productCode);
+        return CompletableFuture.completedFuture(count);
+    }
+
+    @Async
+    public CompletableFuture<Integer> purgeByRelease(String releaseCode, String deletedBy) {
+        int count = purge(limit -> featureRepository.findByReleaseCodeOrderById(releaseCode, limit), deletedBy);
+        log.info("Deleted {} features of release {}", count, releaseCode);
+        return CompletableFuture.completedFuture(count);
+    }
+
+    private int purge(Function<Limit, List<Feature>> loader, String deletedBy) {
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> purgeChunk(loader, deletedBy));
+            if (deleted == null || deleted == 0) {
+                return total;
+            }
+            total += deleted;
+            log.debug("Deleted {} features so far", total);
+        }
+    }
+
+    private int purgeChunk(Function<Limit, List<Feature>> loader, String deletedBy) {
+        List<Feature> features = loader.apply(Limit.of(chunkSize));
+        if (features.isEmpty()) {
+            return 0;
+        }
+        // the counts are decremented from the locked rows, not from the state read by the loader;
+        // features deleted concurrently in the meantime are left out
+        List<Long> featureIds = featureRepository.lockByIds(
+                features.stream().map(Feature::getId).toList());
+        if (featureIds.isEmpty()) {
+            return features.size();
+        }
+        featureCountsRepository.decrementProductFeatureCounts(featureIds);
+        featureCountsRepository.decrementReleaseFeatureCounts(featureIds);
+        favoriteFeatureRepository.deleteByFeatureIds(featureIds);
+        commentRepository.deleteByFeatureIds(featureIds);
+        cycleTimeService.removeSamples(featureIds);
+        featureStatusTransitionRepository.deleteByFeatureIds(featureIds);
+        featureRepository.deleteByIds(featureIds);
+        catalogVersion.changed();
+        Instant deletedAt = Instant.now();
+        features.stream()
+                .filter(feature -> featureIds.contains(feature.getId()))
+                .forEach(feature -> eventPublisher.publishFeatureDeletedEvent(feature, deletedBy, deletedAt));
+        return features.size();
+    }
+}
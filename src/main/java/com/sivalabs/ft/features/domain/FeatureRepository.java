@@ -1,29 +1,73 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Feature;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-interface FeatureRepository extends ListCrudRepository<Feature, Long> {
-    @Query("select f from Feature f left join fetch f.release where f.code = :code")
-    Optional<Feature> findByCode(String code);
+interface FeatureRepository extends NaturalIdRepository<Feature, Long>, FeatureSummaryQueries {
+    default Optional<Feature> findByCode(String code) {
+        return findBySimpleNaturalId(code);
+    }
+
+    /**
+     * Reads the feature from the database and locks its row until the end of the transaction, so that changes to
+     * the maintained counts are computed from its current state.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from Feature f where f.code = :code")
+    Optional<Feature> findByCodeForUpdate(String code);
 
     @Query("select f from Feature f left join fetch f.release where f.release.code = :releaseCode")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Feature> findByReleaseCode(String releaseCode);
 
     @Query("select f from Feature f left join fetch f.release where f.product.code = :productCode")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Feature> findByProductCode(String productCode);
 
+    @Query("select f from Feature f left join fetch f.release where f.product.code = :productCode order by f.id")
+    List<Feature> findByProductCodeOrderById(String productCode, Limit limit);
+
+    @Query("select f from Feature f join fetch f.release r where r.code = :releaseCode order by f.id")
+    List<Feature> findByReleaseCodeOrderById(String releaseCode, Limit limit);
+
+    @Query(nativeQuery = true, value = "select id from features where id in (:ids) order by id for update")
+    List<Long> lockByIds(Collection<Long> ids);
+
     @Modifying
+    @Query("delete from Feature f where f.code = :code")
     void deleteByCode(String code);
 
+    @Modifying
+    @Query("delete from Feature f where f.id in :ids")
+    int deleteByIds(Collection<Long> ids);
+
     @Modifying
     @Query("update Feature f set f.release = null where f.release.code = :code")
     void unsetRelease(String code);
 
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "features"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            update features set release_id = null
+            where id in (select id from features where release_id = :releaseId limit :chunkSize)
+            """)
+    int unsetReleaseInChunk(Long releaseId, int chunkSize);
+
+    long countByReleaseCode(String releaseCode);
+
     boolean existsByCode(String code);
 
     @Query(value = "select nextval('feature_code_seq')", nativeQuery = true)
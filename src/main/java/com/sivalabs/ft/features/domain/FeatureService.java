@@ -2,24 +2,37 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeaturesCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureSummaryDto;
 import com.sivalabs.ft.features.domain.entities.Feature;
 import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.entities.Release;
 import com.sivalabs.ft.features.domain.events.EventPublisher;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ConflictException;
+import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.FeatureMapper;
+import com.sivalabs.ft.features.domain.models.FeatureField;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Observed(name = "ft.service")
 public class FeatureService {
     public static final String FEATURE_SEPARATOR = "-";
     private final FavoriteFeatureService favoriteFeatureService;
@@ -27,8 +40,17 @@ public class FeatureService {
     private final FeatureRepository featureRepository;
     private final ProductRepository productRepository;
     private final FavoriteFeatureRepository favoriteFeatureRepository;
+    private final CommentRepository commentRepository;
+    private final FeatureStatusTransitionRepository featureStatusTransitionRepository;
+    private final CycleTimeService cycleTimeService;
+    private final FeatureCountsRepository featureCountsRepository;
+    private final FeaturePurger featurePurger;
     private final EventPublisher eventPublisher;
     private final FeatureMapper featureMapper;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String, List<FeatureDto>> featuresByRelease;
+    private final SingleFlight<String, List<FeatureDto>> featuresByProduct;
 
     FeatureService(
             FavoriteFeatureService favoriteFeatureService,
@@ -36,15 +58,33 @@ public class FeatureService {
             FeatureRepository featureRepository,
             ProductRepository productRepository,
             FavoriteFeatureRepository favoriteFeatureRepository,
+            CommentRepository commentRepository,
+            FeatureStatusTransitionRepository featureStatusTransitionRepository,
+            CycleTimeService cycleTimeService,
+            FeatureCountsRepository featureCountsRepository,
+            FeaturePurger featurePurger,
             EventPublisher eventPublisher,
-            FeatureMapper featureMapper) {
+            FeatureMapper featureMapper,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
         this.favoriteFeatureService = favoriteFeatureService;
         this.releaseRepository = releaseRepository;
         this.featureRepository = featureRepository;
         this.productRepository = productRepository;
         this.eventPublisher = eventPublisher;
         this.favoriteFeatureRepository = favoriteFeatureRepository;
+        this.commentRepository = commentRepository;
+        this.featureStatusTransitionRepository = featureStatusTransitionRepository;
+        this.cycleTimeService = cycleTimeService;
+        this.featureCountsRepository = featureCountsRepository;
+        this.featurePurger = featurePurger;
         this.featureMapper = featureMapper;
+        this.catalogVersion = catalogVersion;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.featuresByRelease = new SingleFlight<>("features-by-release", catalogVersion::current, meterRegistry);
+        this.featuresByProduct = new SingleFlight<>("features-by-product", catalogVersion::current, meterRegistry);
     }
 
     @Transactional(readOnly = true)
@@ -53,34 +93,63 @@ public class FeatureService {
         if (optionalFeature.isEmpty()) {
             return Optional.empty();
         }
-        List<FeatureDto> featureDtos = updateFavoriteStatus(List.of(optionalFeature.get()), username);
+        List<FeatureDto> featureDtos =
+                updateFavoriteStatus(List.of(featureMapper.toDto(optionalFeature.get())), username);
         return Optional.ofNullable(featureDtos.getFirst());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Concurrent calls for the same release share a single load; the favorite status is then applied per user.
+     */
     public List<FeatureDto> findFeaturesByRelease(String username, String releaseCode) {
-        List<Feature> features = featureRepository.findByReleaseCode(releaseCode);
+        List<FeatureDto> features = featuresByRelease.load(
+                releaseCode,
+                () -> readOnlyTransaction.execute(status -> toDtos(featureRepository.findByReleaseCode(releaseCode))));
         return updateFavoriteStatus(features, username);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Concurrent calls for the same product share a single load; the favorite status is then applied per user.
+     */
     public List<FeatureDto> findFeaturesByProduct(String username, String productCode) {
-        List<Feature> features = featureRepository.findByProductCode(productCode);
+        List<FeatureDto> features = featuresByProduct.load(
+                productCode,
+                () -> readOnlyTransaction.execute(status -> toDtos(featureRepository.findByProductCode(productCode))));
         return updateFavoriteStatus(features, username);
     }
 
-    private List<FeatureDto> updateFavoriteStatus(List<Feature> features, String username) {
+    /**
+     * Finds the features of a product or of a release, loading only the requested fields.
+     */
+    @Transactional(readOnly = true)
+    public List<FeatureSummaryDto> findFeatureSummaries(
+            String username, String productCode, String releaseCode, Set<FeatureField> fields) {
+        List<FeatureSummaryDto> summaries = productCode != null
+                ? featureRepository.findSummariesByProductCode(productCode, fields)
+                : featureRepository.findSummariesByReleaseCode(releaseCode, fields);
+        if (username == null || summaries.isEmpty()) {
+            return summaries;
+        }
+        Set<String> featureCodes =
+                summaries.stream().map(FeatureSummaryDto::code).collect(Collectors.toSet());
+        Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
+        return summaries.stream()
+                .map(summary -> summary.makeFavorite(favoriteFeatures.getOrDefault(summary.code(), false)))
+                .toList();
+    }
+
+    private List<FeatureDto> toDtos(List<Feature> features) {
+        return features.stream().map(featureMapper::toDto).toList();
+    }
+
+    private List<FeatureDto> updateFavoriteStatus(List<FeatureDto> features, String username) {
         if (username == null || features.isEmpty()) {
-            return features.stream().map(featureMapper::toDto).toList();
+            return features;
         }
-        Set<String> featureCodes = features.stream().map(Feature::getCode).collect(Collectors.toSet());
+        Set<String> featureCodes = features.stream().map(FeatureDto::code).collect(Collectors.toSet());
         Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
         return features.stream()
-                .map(feature -> {
-                    var dto = featureMapper.toDto(feature);
-                    dto.makeFavorite(favoriteFeatures.get(feature.getCode()));
-                    return dto;
-                })
+                .map(dto -> dto.makeFavorite(favoriteFeatures.getOrDefault(dto.code(), false)))
                 .toList();
     }
 
@@ -92,7 +161,7 @@ public class FeatureService {
     @Transactional
     public String createFeature(CreateFeatureCommand cmd) {
         Product product = productRepository.findByCode(cmd.productCode()).orElseThrow();
-        Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
+        Release release = findAssignableRelease(cmd.releaseCode());
         String code = product.getPrefix() + FEATURE_SEPARATOR + featureRepository.getNextFeatureId();
         var feature = new Feature();
         feature.setProduct(product);
@@ -105,34 +174,108 @@ public class FeatureService {
         feature.setCreatedBy(cmd.createdBy());
         feature.setCreatedAt(Instant.now());
         featureRepository.save(feature);
+        adjustFeatureCounts(product.getId(), release, feature.getStatus(), 1);
+        catalogVersion.changed();
         eventPublisher.publishFeatureCreatedEvent(feature);
         return code;
     }
 
     @Transactional
     public void updateFeature(UpdateFeatureCommand cmd) {
-        Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
+        Feature feature = featureRepository.findByCodeForUpdate(cmd.code()).orElseThrow();
+        Release previousRelease = feature.getRelease();
+        FeatureStatus previousStatus = feature.getStatus();
         feature.setTitle(cmd.title());
         feature.setDescription(cmd.description());
-        if (cmd.releaseCode() != null) {
-            Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
-            feature.setRelease(release);
-        } else {
-            feature.setRelease(null);
-        }
+        feature.setRelease(findAssignableRelease(cmd.releaseCode()));
         feature.setAssignedTo(cmd.assignedTo());
         feature.setStatus(cmd.status());
         feature.setUpdatedBy(cmd.updatedBy());
         feature.setUpdatedAt(Instant.now());
         featureRepository.save(feature);
+        if (previousStatus != feature.getStatus() || !isSameRelease(previousRelease, feature.getRelease())) {
+            Long productId = feature.getProduct().getId();
+            adjustFeatureCounts(productId, previousRelease, previousStatus, -1);
+            adjustFeatureCounts(productId, feature.getRelease(), feature.getStatus(), 1);
+        }
+        if (previousStatus != feature.getStatus()) {
+            cycleTimeService.recordStatusChange(feature, previousStatus, cmd.updatedBy(), feature.getUpdatedAt());
+        } else if (feature.getStatus() == FeatureStatus.RELEASED
+                && !isSameRelease(previousRelease, feature.getRelease())) {
+            cycleTimeService.recordReleaseChange(feature);
+        }
+        catalogVersion.changed();
         eventPublisher.publishFeatureUpdatedEvent(feature);
     }
 
     @Transactional
     public void deleteFeature(DeleteFeatureCommand cmd) {
-        Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
+        Feature feature = featureRepository
+                .findByCodeForUpdate(cmd.code())
+                .orElseThrow(
+                        () -> new ResourceNotFoundException("Feature with code %s not found".formatted(cmd.code())));
+        adjustFeatureCounts(feature.getProduct().getId(), feature.getRelease(), feature.getStatus(), -1);
         favoriteFeatureRepository.deleteByFeatureCode(cmd.code());
+        commentRepository.deleteByFeatureCode(cmd.code());
+        cycleTimeService.removeSamples(List.of(feature.getId()));
+        featureStatusTransitionRepository.deleteByFeatureCode(cmd.code());
         featureRepository.deleteByCode(cmd.code());
+        catalogVersion.changed();
         eventPublisher.publishFeatureDeletedEvent(feature, cmd.deletedBy(), Instant.now());
     }
+
+    /**
+     * Deletes all the features of a product or of a release in the background.
+     * The features are removed in chunks, each chunk in its own transaction.
+     */
+    @Transactional
+    public void deleteFeatures(DeleteFeaturesCommand cmd) {
+        boolean byProduct = cmd.productCode() != null && !cmd.productCode().isBlank();
+        boolean byRelease = cmd.releaseCode() != null && !cmd.releaseCode().isBlank();
+        if (byProduct == byRelease) {
+            throw new BadRequestException("Exactly one of productCode or releaseCode is required");
+        }
+        if (byProduct) {
+            productRepository
+                    .findByCode(cmd.productCode())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Product with code %s not found".formatted(cmd.productCode())));
+            featurePurger.purgeByProduct(cmd.productCode(), cmd.deletedBy());
+        } else {
+            if (!releaseRepository.existsByCode(cmd.releaseCode())) {
+                throw new ResourceNotFoundException("Release with code %s not found".formatted(cmd.releaseCode()));
+            }
+            featurePurger.purgeByRelease(cmd.releaseCode(), cmd.deletedBy());
+        }
+    }
+
+    /**
+     * Finds the release a feature is assigned to. The release row stays share-locked until the end of the
+     * transaction, so that it can't be marked for deletion before the feature is saved.
+     *
+     * @throws ConflictException if the release is being deleted
+     */
+    private Release findAssignableRelease(String releaseCode) {
+        if (releaseCode == null) {
+            return null;
+        }
+        Release release = releaseRepository.findByCodeForShare(releaseCode).orElse(null);
+        if (release != null && release.getStatus() == ReleaseStatus.DELETING) {
+            throw new ConflictException("Release %s is being deleted".formatted(releaseCode));
+        }
+        return release;
+    }
+
+    private void adjustFeatureCounts(Long productId, Release release, FeatureStatus status, long delta) {
+        featureCountsRepository.adjustProductFeatureCount(productId, status.name(), delta);
+        if (release != null) {
+            featureCountsRepository.adjustReleaseFeatureCount(release.getId(), status.name(), delta);
+        }
+    }
+
+    private static boolean isSameRelease(Release r1, Release r2) {
+        Long id1 = r1 == null ? null : r1.getId();
+        Long id2 = r2 == null ? null : r2.getId();
+        return Objects.equals(id1, id2);
+    }
 }
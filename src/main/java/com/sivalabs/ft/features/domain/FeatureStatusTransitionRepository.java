@@ -0,0 +1,32 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.FeatureStatusTransition;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+interface FeatureStatusTransitionRepository extends JpaRepository<FeatureStatusTransition, Long> {
+
+    @Query(
+            """
+            select min(t.changedAt) from FeatureStatusTransition t
+            where t.featureId = :featureId and t.toStatus = :status
+            """)
+    Optional<Instant> findFirstTransitionAt(Long featureId, FeatureStatus status);
+
+    @Modifying
+    @Query(
+            """
+            delete from FeatureStatusTransition t
+            where t.featureId = (select f.id from Feature f where f.code = :featureCode)
+            """)
+    void deleteByFeatureCode(String featureCode);
+
+    @Modifying
+    @Query("delete from FeatureStatusTransition t where t.featureId in :featureIds")
+    int deleteByFeatureIds(Collection<Long> featureIds);
+}
@@ -0,0 +1,15 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureSummaryDto;
+import com.sivalabs.ft.features.domain.models.FeatureField;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads features selecting only the columns of the requested fields, without materializing entities.
+ */
+interface FeatureSummaryQueries {
+    List<FeatureSummaryDto> findSummariesByProductCode(String productCode, Set<FeatureField> fields);
+
+    List<FeatureSummaryDto> findSummariesByReleaseCode(String releaseCode, Set<FeatureField> fields);
+}
@@ -0,0 +1,58 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureSummaryDto;
+import com.sivalabs.ft.features.domain.models.FeatureField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class FeatureSummaryQueriesImpl implements FeatureSummaryQueries {
+    private final EntityManager entityManager;
+
+    FeatureSummaryQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<FeatureSummaryDto> findSummariesByProductCode(String productCode, Set<FeatureField> fields) {
+        return findSummaries("f.product.code = :code", productCode, fields);
+    }
+
+    @Override
+    public List<FeatureSummaryDto> findSummariesByReleaseCode(String releaseCode, Set<FeatureField> fields) {
+        return findSummaries("r.code = :code", releaseCode, fields);
+    }
+
+    private List<FeatureSummaryDto> findSummaries(String condition, String code, Set<FeatureField> fields) {
+        // the select list is built from the enum constants only, never from the request
+        String select = fields.stream()
+                .map(field -> field.path() + " as " + field.fieldName())
+                .collect(Collectors.joining(", "));
+        String jpql = "select " + select + " from Feature f left join f.release r where " + condition;
+        return entityManager.createQuery(jpql, Tuple.class).setParameter("code", code).getResultList().stream()
+                .map(tuple -> toSummary(tuple, fields))
+                .toList();
+    }
+
+    private static FeatureSummaryDto toSummary(Tuple tuple, Set<FeatureField> fields) {
+        return new FeatureSummaryDto(
+                get(tuple, fields, FeatureField.CODE),
+                get(tuple, fields, FeatureField.TITLE),
+                get(tuple, fields, FeatureField.STATUS),
+                get(tuple, fields, FeatureField.RELEASE_CODE),
+                get(tuple, fields, FeatureField.ASSIGNED_TO),
+                get(tuple, fields, FeatureField.CREATED_BY),
+                get(tuple, fields, FeatureField.CREATED_AT),
+                get(tuple, fields, FeatureField.UPDATED_BY),
+                get(tuple, fields, FeatureField.UPDATED_AT),
+                null,
+                null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Tuple tuple, Set<FeatureField> fields, FeatureField field) {
+        return fields.contains(field) ? (T) tuple.get(field.fieldName(), field.type()) : null;
+    }
+}
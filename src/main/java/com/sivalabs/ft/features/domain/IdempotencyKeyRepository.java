@@ -0,0 +1,73 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.models.StoredResponse;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+interface IdempotencyKeyRepository extends Repository<Feature, Long> {
+
+    /**
+     * Claims the key, unless it is already claimed by a live request or holds an unexpired response.
+     *
+     * @return {@code 1} if the key was claimed, {@code 0} otherwise
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            insert into idempotency_keys (scope, idempotency_key, request_hash, created_at, expires_at)
+            values (:scope, :key, :requestHash, :now, :expiresAt)
+            on conflict (scope, idempotency_key) do update
+            set request_hash = excluded.request_hash, created_at = excluded.created_at,
+                expires_at = excluded.expires_at, status_code = null, location = null
+            where idempotency_keys.expires_at < :now
+               or (idempotency_keys.status_code is null and idempotency_keys.created_at < :staleBefore)
+            """)
+    int tryClaim(String scope, String key, String requestHash, Instant now, Instant expiresAt, Instant staleBefore);
+
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            select status_code as "statusCode", location as location, request_hash as "requestHash"
+            from idempotency_keys
+            where scope = :scope and idempotency_key = :key
+            """)
+    Optional<StoredResponse> findResponse(String scope, String key);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            update idempotency_keys set status_code = :statusCode, location = :location
+            where scope = :scope and idempotency_key = :key
+            """)
+    void saveResponse(String scope, String key, int statusCode, String location);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(
+            nativeQuery = true,
+            value =
+                    """
+            delete from idempotency_keys
+            where scope = :scope and idempotency_key = :key and status_code is null
+            """)
+    void deleteClaim(String scope, String key);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = "delete from idempotency_keys where expires_at < :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,123 @@
+package com.sivalabs.ft.features.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.IdempotencyProperties;
+import com.sivalabs.ft.features.domain.exceptions.ConflictException;
+import com.sivalabs.ft.features.domain.exceptions.UnprocessableEntityException;
+import com.sivalabs.ft.features.domain.models.StoredResponse;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers the responses of requests carrying an {@code Idempotency-Key}, so that a retried request
+ * gets the original response instead of being executed again.
+ * <p>
+ * A key is claimed, together with a hash of the request payload, before the request is executed, and completed
+ * with its response in the transaction of the request itself, so that the response is stored if and only if the
+ * changes of the request are committed. Reusing a key for a different payload is rejected.
+ * The responses live in the {@code idempotency_keys} table until they expire, with the recent ones
+ * also kept in memory. A claim left behind by a crashed request is taken over once it is stale.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties properties;
+    private final Cache<String, StoredResponse> responses;
+
+    IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ApplicationProperties properties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = properties.idempotency();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(this.properties.cacheMaxSize())
+                .expireAfterWrite(this.properties.ttl())
+                .build();
+    }
+
+    /**
+     * Claims the key for a new request.
+     *
+     * @return the stored response if the key was already used, empty if the request should be executed
+     * @throws UnprocessableEntityException if the key was used for a request with a different payload
+     * @throws ConflictException if a request with the same key is still being executed
+     */
+    @Transactional
+    public Optional<StoredResponse> claim(String scope, String key, String requestHash) {
+        StoredResponse cached = responses.getIfPresent(cacheKey(scope, key));
+        if (cached != null) {
+            return Optional.of(checkSameRequest(cached, requestHash));
+        }
+        Instant now = Instant.now();
+        int claimed = idempotencyKeyRepository.tryClaim(
+                scope, key, requestHash, now, now.plus(properties.ttl()), now.minus(properties.inProgressTimeout()));
+        if (claimed == 1) {
+            return Optional.empty();
+        }
+        StoredResponse stored = idempotencyKeyRepository
+                .findResponse(scope, key)
+                .map(response -> checkSameRequest(response, requestHash))
+                .filter(response -> response.statusCode() != null)
+                .orElseThrow(() -> new ConflictException("A request with the same Idempotency-Key is in progress"));
+        responses.put(cacheKey(scope, key), stored);
+        return Optional.of(stored);
+    }
+
+    /**
+     * Executes the command of a claimed key and stores its response in the same transaction.
+     * A crash before the commit leaves neither the changes nor the response, so the claim can be taken over
+     * and the request retried.
+     *
+     * @return the location of the created resource
+     */
+    @Transactional
+    public URI execute(String scope, String key, String requestHash, int statusCode, Supplier<URI> command) {
+        URI location = command.get();
+        idempotencyKeyRepository.saveResponse(scope, key, statusCode, location.toString());
+        var response = new StoredResponse(statusCode, location.toString(), requestHash);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.put(cacheKey(scope, key), response);
+            }
+        });
+        return location;
+    }
+
+    /** Releases the key of a failed request, so that it can be retried. */
+    @Transactional
+    public void release(String scope, String key) {
+        idempotencyKeyRepository.deleteClaim(scope, key);
+    }
+
+    @Scheduled(fixedDelayString = "${ft.idempotency.cleanup-interval:PT10M}")
+    @Transactional
+    public void deleteExpiredKeys() {
+        int count = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (count > 0) {
+            log.info("Deleted {} expired idempotency keys", count);
+        }
+    }
+
+    private static StoredResponse checkSameRequest(StoredResponse stored, String requestHash) {
+        if (stored.requestHash() != null && !stored.requestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException("The Idempotency-Key was already used for a different request");
+        }
+        return stored;
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + "\n" + key;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sivalabs.ft.features.domain;
+
+import java.util.Optional;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Repository of an entity with a simple {@code @NaturalId}.
+ * Lookups by natural id go through the Hibernate natural-id and second-level caches instead of issuing a query.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends ListCrudRepository<T, ID> {
+
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
@@ -0,0 +1,30 @@
+package com.sivalabs.ft.features.domain;
+
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Base class of all the Spring Data repositories, registered through
+ * {@code @EnableJpaRepositories(repositoryBaseClass = ...)}.
+ */
+public class NaturalIdRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements NaturalIdRepository<T, ID> {
+    private final EntityManager entityManager;
+
+    public NaturalIdRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<T> findBySimpleNaturalId(Object naturalId) {
+        return entityManager
+                .unwrap(Session.class)
+                .bySimpleNaturalId(getDomainClass())
+                .loadOptional(naturalId);
+    }
+}
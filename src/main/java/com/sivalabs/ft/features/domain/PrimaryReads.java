@@ -0,0 +1,27 @@
+package com.sivalabs.ft.features.domain;
+
+/**
+ * Marks the threads serving requests that must see the latest committed data, e.g. their own recent writes.
+ * Their reads go to the primary database instead of a replica, and are neither shared with nor served from the
+ * loads of other requests, which may have read from a replica.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {}
+
+    /**
+     * Makes the reads of the current thread use the primary, until {@link #unpin()}.
+     */
+    public static void pin() {
+        PINNED.set(true);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
@@ -1,9 +1,21 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Product;
+import jakarta.persistence.LockModeType;
 import java.util.Optional;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
-interface ProductRepository extends ListCrudRepository<Product, Long> {
-    Optional<Product> findByCode(String code);
+interface ProductRepository extends NaturalIdRepository<Product, Long> {
+    default Optional<Product> findByCode(String code) {
+        return findBySimpleNaturalId(code);
+    }
+
+    /**
+     * Reads the product from the database, not from the second-level cache of this instance, which may miss changes
+     * made through other instances, and locks it until the end of the transaction, so that it can be updated.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.code = :code")
+    Optional<Product> findByCodeForUpdate(String code);
 }
@@ -2,23 +2,34 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateProductCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.ProductMapper;
+import io.micrometer.observation.annotation.Observed;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Observed(name = "ft.service")
 public class ProductService {
     private final ProductRepository productRepository;
+    private final FeatureCountsRepository featureCountsRepository;
     private final ProductMapper productMapper;
+    private final CatalogVersion catalogVersion;
 
-    ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    ProductService(
+            ProductRepository productRepository,
+            FeatureCountsRepository featureCountsRepository,
+            ProductMapper productMapper,
+            CatalogVersion catalogVersion) {
         this.productRepository = productRepository;
+        this.featureCountsRepository = featureCountsRepository;
         this.productMapper = productMapper;
+        this.catalogVersion = catalogVersion;
     }
 
     @Transactional(readOnly = true)
@@ -31,6 +42,15 @@ public class ProductService {
         return productRepository.findByCode(code).map(productMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<FeatureStatusSummaryDto> getProductSummary(String code) {
+        if (productRepository.findByCode(code).isEmpty()) {
+            return Optional.empty();
+        }
+        var counts = featureCountsRepository.findProductFeatureCounts(code);
+        return Optional.of(FeatureStatusSummaryDto.of(code, counts));
+    }
+
     @Transactional
     public Long createProduct(CreateProductCommand cmd) {
         var product = new Product();
@@ -42,13 +62,14 @@ public class ProductService {
         product.setCreatedBy(cmd.createdBy());
         product.setDisabled(false);
         Product savedProduct = productRepository.save(product);
+        catalogVersion.changed();
         return savedProduct.getId();
     }
 
     @Transactional
     public void updateProduct(UpdateProductCommand cmd) {
         var product = productRepository
-                .findByCode(cmd.code())
+                .findByCodeForUpdate(cmd.code())
                 .orElseThrow(() -> new ResourceNotFoundException("Product %s not found".formatted(cmd)));
         product.setPrefix(cmd.prefix());
         product.setName(cmd.name());
@@ -56,5 +77,6 @@ public class ProductService {
         product.setImageUrl(cmd.imageUrl());
         product.setUpdatedBy(cmd.updatedBy());
         productRepository.save(product);
+        catalogVersion.changed();
     }
 }
@@ -0,0 +1,94 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes releases that are in {@link ReleaseStatus#DELETING} state.
+ * Features are detached from the release in bounded chunks, one transaction per chunk,
+ * and the release row is removed once no feature refers to it anymore.
+ * As the state lives in the database, a deletion interrupted by a restart is resumed by the next poll.
+ */
+@Component
+class ReleaseDeletionJob {
+    private static final Logger log = LoggerFactory.getLogger(ReleaseDeletionJob.class);
+
+    private final ReleaseRepository releaseRepository;
+    private final FeatureRepository featureRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    ReleaseDeletionJob(
+            ReleaseRepository releaseRepository,
+            FeatureRepository featureRepository,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            ApplicationProperties properties) {
+        this.releaseRepository = releaseRepository;
+        this.featureRepository = featureRepository;
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.releases().deletionChunkSize();
+    }
+
+    @Async
+    public void deleteAsync(String code) {
+        // read-write, so read from the primary and not from the caches or a replica that may not see DELETING yet
+        transactionTemplate
+                .execute(status -> releaseRepository.findByCodeForShare(code))
+                .filter(release -> release.getStatus() == ReleaseStatus.DELETING)
+                .ifPresent(this::delete);
+    }
+
+    @Scheduled(fixedDelayString = "${ft.releases.deletion-poll-interval:PT30S}")
+    public void resumePendingDeletions() {
+        for (Release release : releaseRepository.findByStatus(ReleaseStatus.DELETING)) {
+            delete(release);
+        }
+    }
+
+    private void delete(Release release) {
+        String code = release.getCode();
+        if (!inProgress.add(code)) {
+            return;
+        }
+        try {
+            long detached = 0;
+            int count;
+            do {
+                count = transactionTemplate.execute(status -> {
+                    catalogVersion.changed();
+                    return featureRepository.unsetReleaseInChunk(release.getId(), chunkSize);
+                });
+                detached += count;
+                if (count > 0) {
+                    log.info("Release {}: detached {} features so far", code, detached);
+                }
+            } while (count > 0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                // catches features assigned to the release while the chunks were processed
+                featureRepository.unsetRelease(code);
+                releaseRepository.deleteByCode(code);
+                catalogVersion.changed();
+            });
+            log.info("Release {} deleted, {} features detached", code, detached);
+        } catch (RuntimeException e) {
+            log.error("Deletion of release {} failed, it will be retried", code, e);
+        } finally {
+            inProgress.remove(code);
+        }
+    }
+}
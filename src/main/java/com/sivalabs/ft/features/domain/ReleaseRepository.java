@@ -1,18 +1,45 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-interface ReleaseRepository extends ListCrudRepository<Release, Long> {
-    Optional<Release> findByCode(String code);
+interface ReleaseRepository extends NaturalIdRepository<Release, Long> {
+    default Optional<Release> findByCode(String code) {
+        return findBySimpleNaturalId(code);
+    }
 
+    /**
+     * Reads the release with a shared row lock, which a concurrent {@code deleteRelease} has to wait for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select r from Release r where r.code = :code")
+    Optional<Release> findByCodeForShare(String code);
+
+    /**
+     * Reads the release from the database, not from the second-level cache of this instance, which may miss changes
+     * made through other instances, and locks it until the end of the transaction, so that it can be updated.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Release r where r.code = :code")
+    Optional<Release> findByCodeForUpdate(String code);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Release> findByProductCode(String productCode);
 
+    List<Release> findByStatus(ReleaseStatus status);
+
     @Modifying
-    void deleteByCode(String code);
+    @Query("delete from Release r where r.code = :code")
+    int deleteByCode(String code);
 
     boolean existsByCode(String code);
 }
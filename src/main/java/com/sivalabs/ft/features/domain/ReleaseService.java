@@ -2,35 +2,65 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateReleaseCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateReleaseCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDeletionProgressDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import com.sivalabs.ft.features.domain.mappers.ReleaseMapper;
+import com.sivalabs.ft.features.domain.models.AnalyticsScope;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Observed(name = "ft.service")
 public class ReleaseService {
     public static final String RELEASE_SEPARATOR = "-";
     private final ReleaseRepository releaseRepository;
     private final ProductRepository productRepository;
     private final FeatureRepository featureRepository;
+    private final FeatureCountsRepository featureCountsRepository;
+    private final CycleTimeHistogramRepository cycleTimeHistogramRepository;
+    private final ReleaseDeletionJob releaseDeletionJob;
     private final ReleaseMapper releaseMapper;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String, Optional<ReleaseDto>> releaseByCode;
 
     ReleaseService(
             ReleaseRepository releaseRepository,
             ProductRepository productRepository,
             FeatureRepository featureRepository,
-            ReleaseMapper releaseMapper) {
+            FeatureCountsRepository featureCountsRepository,
+            CycleTimeHistogramRepository cycleTimeHistogramRepository,
+            ReleaseDeletionJob releaseDeletionJob,
+            ReleaseMapper releaseMapper,
+            CatalogVersion catalogVersion,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
         this.releaseRepository = releaseRepository;
         this.productRepository = productRepository;
         this.featureRepository = featureRepository;
+        this.featureCountsRepository = featureCountsRepository;
+        this.cycleTimeHistogramRepository = cycleTimeHistogramRepository;
+        this.releaseDeletionJob = releaseDeletionJob;
         this.releaseMapper = releaseMapper;
+        this.catalogVersion = catalogVersion;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.releaseByCode = new SingleFlight<>("release-by-code", catalogVersion::current, meterRegistry);
     }
 
     @Transactional(readOnly = true)
@@ -40,9 +70,23 @@ public class ReleaseService {
                 .toList();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Concurrent calls for the same release share a single load.
+     */
     public Optional<ReleaseDto> findReleaseByCode(String code) {
-        return releaseRepository.findByCode(code).map(releaseMapper::toDto);
+        return releaseByCode.load(
+                code,
+                () -> readOnlyTransaction.execute(
+                        status -> releaseRepository.findByCode(code).map(releaseMapper::toDto)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FeatureStatusSummaryDto> getReleaseSummary(String code) {
+        if (!releaseRepository.existsByCode(code)) {
+            return Optional.empty();
+        }
+        var counts = featureCountsRepository.findReleaseFeatureCounts(code);
+        return Optional.of(FeatureStatusSummaryDto.of(code, counts));
     }
 
     @Transactional(readOnly = true)
@@ -65,26 +109,56 @@ public class ReleaseService {
         release.setCreatedBy(cmd.createdBy());
         release.setCreatedAt(Instant.now());
         releaseRepository.save(release);
+        catalogVersion.changed();
         return code;
     }
 
     @Transactional
     public void updateRelease(UpdateReleaseCommand cmd) {
-        Release release = releaseRepository.findByCode(cmd.code()).orElseThrow();
+        Release release = releaseRepository.findByCodeForUpdate(cmd.code()).orElseThrow();
+        if (release.getStatus() == ReleaseStatus.DELETING || cmd.status() == ReleaseStatus.DELETING) {
+            throw new BadRequestException("Release %s is being deleted".formatted(cmd.code()));
+        }
         release.setDescription(cmd.description());
         release.setStatus(cmd.status());
         release.setReleasedAt(cmd.releasedAt());
         release.setUpdatedBy(cmd.updatedBy());
         release.setUpdatedAt(Instant.now());
         releaseRepository.save(release);
+        catalogVersion.changed();
     }
 
+    /**
+     * Marks the release as {@link ReleaseStatus#DELETING} and hands it over to the background
+     * {@link ReleaseDeletionJob}, which detaches the features in chunks and removes the release.
+     */
     @Transactional
     public void deleteRelease(String code) {
-        if (!releaseRepository.existsByCode(code)) {
-            throw new ResourceNotFoundException("Release with code " + code + " not found");
+        Release release = releaseRepository
+                .findByCodeForUpdate(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Release with code " + code + " not found"));
+        if (release.getStatus() != ReleaseStatus.DELETING) {
+            release.setStatus(ReleaseStatus.DELETING);
+            release.setUpdatedAt(Instant.now());
+            releaseRepository.save(release);
+            featureCountsRepository.deleteReleaseFeatureCounts(release.getId());
+            cycleTimeHistogramRepository.deleteByScope(AnalyticsScope.RELEASE.name(), release.getId());
+            cycleTimeHistogramRepository.detachSamplesFromRelease(release.getId());
+            catalogVersion.changed();
         }
-        featureRepository.unsetRelease(code);
-        releaseRepository.deleteByCode(code);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseDeletionJob.deleteAsync(code);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReleaseDeletionProgressDto> getReleaseDeletionProgress(String code) {
+        return releaseRepository
+                .findByCode(code)
+                .map(release -> new ReleaseDeletionProgressDto(
+                        release.getCode(), release.getStatus(), featureRepository.countByReleaseCode(code)));
     }
 }
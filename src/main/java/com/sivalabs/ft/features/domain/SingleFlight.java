@@ -0,0 +1,82 @@
+package com.sivalabs.ft.features.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one.
+ * The first caller runs the loader and the callers arriving while it runs wait for, and share, its result.
+ * Nothing is kept once the load completes, so this is not a cache.
+ * <p>
+ * A caller only joins a load started at the same generation, e.g. {@link CatalogVersion#current()}: a load started
+ * before a change was committed may not see it, so it must not be shared with the callers arriving after the commit.
+ * The threads pinned with {@link PrimaryReads#pin()} run their own load, as a shared one may read from a replica.
+ * <p>
+ * The loader should open its own transaction: the waiting callers then don't hold a database connection.
+ * The shared result must not be modified by the callers.
+ */
+final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<Flight<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongSupplier generation;
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    SingleFlight(String name, LongSupplier generation, MeterRegistry meterRegistry) {
+        this.generation = generation;
+        this.leaders = counter(meterRegistry, name, "LEADER");
+        this.coalesced = counter(meterRegistry, name, "COALESCED");
+    }
+
+    V load(K key, Supplier<V> loader) {
+        if (PrimaryReads.isPinned()) {
+            return loader.get();
+        }
+        Flight<K> flight = new Flight<>(key, generation.getAsLong());
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(flight, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, future);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String role) {
+        return Counter.builder("ft.singleflight.loads")
+                .description("Loads started (LEADER) or joined (COALESCED) through a single-flight")
+                .tag("name", name)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record Flight<K>(K key, long generation) {}
+}
@@ -0,0 +1,5 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import java.util.List;
+
+public record CommentSliceDto(List<CommentDto> comments, String nextCursor) {}
@@ -0,0 +1,6 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.AnalyticsScope;
+
+public record CycleTimeReportDto(
+        AnalyticsScope scope, String code, PercentilesDto leadTime, PercentilesDto cycleTime) {}
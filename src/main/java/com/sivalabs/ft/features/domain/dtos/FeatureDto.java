@@ -1,5 +1,6 @@
 package com.sivalabs.ft.features.domain.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import java.io.Serializable;
 import java.time.Instant;
@@ -16,7 +17,8 @@ public record FeatureDto(
         String createdBy,
         Instant createdAt,
         String updatedBy,
-        Instant updatedAt)
+        Instant updatedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long commentsCount)
         implements Serializable {
 
     public FeatureDto makeFavorite(boolean favorite) {
@@ -32,6 +34,24 @@ public record FeatureDto(
                 createdBy,
                 createdAt,
                 updatedBy,
-                updatedAt);
+                updatedAt,
+                commentsCount);
+    }
+
+    public FeatureDto withCommentsCount(long commentsCount) {
+        return new FeatureDto(
+                id,
+                code,
+                title,
+                description,
+                status,
+                releaseCode,
+                isFavorite,
+                assignedTo,
+                createdBy,
+                createdAt,
+                updatedBy,
+                updatedAt,
+                commentsCount);
     }
 }
@@ -0,0 +1,23 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.FeatureStatusCount;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public record FeatureStatusSummaryDto(String code, long totalFeatures, Map<FeatureStatus, Long> featuresByStatus) {
+
+    public static FeatureStatusSummaryDto of(String code, List<FeatureStatusCount> counts) {
+        Map<FeatureStatus, Long> featuresByStatus = new EnumMap<>(FeatureStatus.class);
+        for (FeatureStatus status : FeatureStatus.values()) {
+            featuresByStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (FeatureStatusCount count : counts) {
+            featuresByStatus.put(FeatureStatus.valueOf(count.status()), count.featureCount());
+            total += count.featureCount();
+        }
+        return new FeatureStatusSummaryDto(code, total, featuresByStatus);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+
+/**
+ * A feature with only the fields requested with {@code fields=}; the others are null and not serialized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FeatureSummaryDto(
+        String code,
+        String title,
+        FeatureStatus status,
+        String releaseCode,
+        String assignedTo,
+        String createdBy,
+        Instant createdAt,
+        String updatedBy,
+        Instant updatedAt,
+        Boolean isFavorite,
+        Long commentsCount) {
+
+    public FeatureSummaryDto makeFavorite(boolean favorite) {
+        return new FeatureSummaryDto(
+                code,
+                title,
+                status,
+                releaseCode,
+                assignedTo,
+                createdBy,
+                createdAt,
+                updatedBy,
+                updatedAt,
+                favorite,
+                commentsCount);
+    }
+
+    public FeatureSummaryDto withCommentsCount(long commentsCount) {
+        return new FeatureSummaryDto(
+                code,
+                title,
+                status,
+                releaseCode,
+                assignedTo,
+                createdBy,
+                createdAt,
+                updatedBy,
+                updatedAt,
+                isFavorite,
+                commentsCount);
+    }
+}
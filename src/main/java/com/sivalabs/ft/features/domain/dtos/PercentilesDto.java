@@ -0,0 +1,4 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+public record PercentilesDto(
+        long samples, Double p50Minutes, Double p75Minutes, Double p90Minutes, Double p95Minutes) {}
@@ -0,0 +1,5 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+
+public record ReleaseDeletionProgressDto(String code, ReleaseStatus status, long remainingFeatures) {}
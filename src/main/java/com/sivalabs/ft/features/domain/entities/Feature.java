@@ -5,10 +5,16 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import java.time.Instant;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "features")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "features")
+@NaturalIdCache(region = "features-by-code")
 public class Feature {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "features_id_gen")
@@ -24,6 +30,7 @@ public class Feature {
     @JoinColumn(name = "release_id")
     private Release release;
 
+    @NaturalId
     @Size(max = 50) @NotNull @Column(name = "code", nullable = false, length = 50)
     private String code;
 
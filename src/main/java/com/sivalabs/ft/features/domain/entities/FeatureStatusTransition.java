@@ -0,0 +1,100 @@
+package com.sivalabs.ft.features.domain.entities;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "feature_status_transitions")
+public class FeatureStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feature_status_transitions_id_gen")
+    @SequenceGenerator(name = "feature_status_transitions_id_gen", sequenceName = "feature_status_transition_id_seq")
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "feature_id", nullable = false)
+    private Long featureId;
+
+    @Column(name = "from_status", length = 50)
+    @Enumerated(EnumType.STRING)
+    private FeatureStatus fromStatus;
+
+    @Column(name = "to_status", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private FeatureStatus toStatus;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public FeatureStatusTransition() {}
+
+    public FeatureStatusTransition(
+            Long featureId, FeatureStatus fromStatus, FeatureStatus toStatus, String changedBy, Instant changedAt) {
+        this.featureId = featureId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFeatureId() {
+        return featureId;
+    }
+
+    public void setFeatureId(Long featureId) {
+        this.featureId = featureId;
+    }
+
+    public FeatureStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(FeatureStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public FeatureStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(FeatureStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
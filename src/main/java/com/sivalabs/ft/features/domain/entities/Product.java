@@ -15,10 +15,16 @@ import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@NaturalIdCache(region = "products-by-code")
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_gen")
@@ -26,6 +32,7 @@ public class Product {
     @Column(name = "id", nullable = false)
     private Long id;
 
+    @NaturalId
     @Size(max = 50) @NotNull @Column(name = "code", nullable = false, length = 50)
     private String code;
 
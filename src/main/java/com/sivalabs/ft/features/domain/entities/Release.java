@@ -19,10 +19,16 @@ import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "releases")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "releases")
+@NaturalIdCache(region = "releases-by-code")
 public class Release {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "releases_id_gen")
@@ -34,6 +40,7 @@ public class Release {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    @NaturalId
     @Size(max = 50) @NotNull @Column(name = "code", nullable = false, length = 50)
     private String code;
 
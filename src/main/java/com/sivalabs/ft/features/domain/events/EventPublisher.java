@@ -2,11 +2,13 @@ package com.sivalabs.ft.features.domain.events;
 
 import com.sivalabs.ft.features.ApplicationProperties;
 import com.sivalabs.ft.features.domain.entities.Feature;
+import io.micrometer.observation.annotation.Observed;
 import java.time.Instant;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
+@Observed(name = "ft.events")
 public class EventPublisher {
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final ApplicationProperties properties;
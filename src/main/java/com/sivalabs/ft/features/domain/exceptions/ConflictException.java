@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
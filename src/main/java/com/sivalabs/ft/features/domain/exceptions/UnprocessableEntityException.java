@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.exceptions;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,6 @@
+package com.sivalabs.ft.features.domain.models;
+
+public enum AnalyticsScope {
+    PRODUCT,
+    RELEASE
+}
@@ -0,0 +1,32 @@
+package com.sivalabs.ft.features.domain.models;
+
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position of a comment, ordered by {@code (createdAt, id)}.
+ */
+public record CommentCursor(Instant createdAt, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = value.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new CommentCursor(Instant.parse(value.substring(0, idx)), Long.parseLong(value.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.sivalabs.ft.features.domain.models;
+
+public enum CycleTimeMetric {
+    /** From feature creation to RELEASED. */
+    LEAD_TIME,
+    /** From the first move to IN_PROGRESS to RELEASED. */
+    CYCLE_TIME
+}
@@ -0,0 +1,28 @@
+package com.sivalabs.ft.features.domain.models;
+
+import java.time.Duration;
+
+/**
+ * Log-linear buckets for durations measured in minutes.
+ * Bucket {@code 0} holds durations up to one minute and bucket {@code i} holds durations in
+ * {@code (GROWTH^(i-1), GROWTH^i]} minutes, so a percentile read from the bucket bounds is within 25% of the actual value.
+ */
+public final class DurationBuckets {
+    public static final double GROWTH = 1.25;
+    public static final int MAX_BUCKET = 100;
+
+    private DurationBuckets() {}
+
+    public static int bucketOf(Duration duration) {
+        double minutes = Math.max(duration.toSeconds(), 0) / 60.0;
+        if (minutes <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(minutes) / Math.log(GROWTH));
+        return Math.min(bucket, MAX_BUCKET);
+    }
+
+    public static double upperBoundMinutes(int bucket) {
+        return Math.pow(GROWTH, bucket);
+    }
+}
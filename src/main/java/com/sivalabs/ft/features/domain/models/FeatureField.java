@@ -0,0 +1,69 @@
+package com.sivalabs.ft.features.domain.models;
+
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Feature attributes that can be requested with {@code fields=} and the JPQL path each is selected from.
+ * {@link #CODE} is always selected.
+ */
+public enum FeatureField {
+    CODE("code", "f.code", String.class),
+    TITLE("title", "f.title", String.class),
+    STATUS("status", "f.status", FeatureStatus.class),
+    RELEASE_CODE("releaseCode", "r.code", String.class),
+    ASSIGNED_TO("assignedTo", "f.assignedTo", String.class),
+    CREATED_BY("createdBy", "f.createdBy", String.class),
+    CREATED_AT("createdAt", "f.createdAt", Instant.class),
+    UPDATED_BY("updatedBy", "f.updatedBy", String.class),
+    UPDATED_AT("updatedAt", "f.updatedAt", Instant.class);
+
+    private final String fieldName;
+    private final String path;
+    private final Class<?> type;
+
+    FeatureField(String fieldName, String path, Class<?> type) {
+        this.fieldName = fieldName;
+        this.path = path;
+        this.type = type;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Parses a comma separated list of field names, e.g. {@code title,status,assignedTo}.
+     */
+    public static Set<FeatureField> parse(String fields) {
+        Set<FeatureField> result = EnumSet.of(CODE);
+        for (String name : fields.split(",")) {
+            String fieldName = name.trim();
+            if (fieldName.isEmpty()) {
+                continue;
+            }
+            result.add(Arrays.stream(values())
+                    .filter(field -> field.fieldName.equals(fieldName))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unknown field '%s', supported fields are %s"
+                            .formatted(
+                                    fieldName,
+                                    Arrays.stream(values())
+                                            .map(FeatureField::fieldName)
+                                            .collect(Collectors.joining(","))))));
+        }
+        return result;
+    }
+}
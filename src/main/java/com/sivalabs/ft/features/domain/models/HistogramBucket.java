@@ -0,0 +1,3 @@
+package com.sivalabs.ft.features.domain.models;
+
+public record HistogramBucket(Integer bucket, Long sampleCount) {}
@@ -2,5 +2,6 @@ package com.sivalabs.ft.features.domain.models;
 
 public enum ReleaseStatus {
     DRAFT,
-    RELEASED
+    RELEASED,
+    DELETING
 }
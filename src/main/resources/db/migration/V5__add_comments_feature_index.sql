@@ -0,0 +1 @@
+create index idx_comments_feature_id_created_at_id on comments (feature_id, created_at, id);
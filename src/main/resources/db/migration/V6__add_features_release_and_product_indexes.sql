@@ -0,0 +1,2 @@
+create index idx_features_release_id on features (release_id);
+create index idx_features_product_id on features (product_id);
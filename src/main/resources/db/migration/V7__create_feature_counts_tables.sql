@@ -0,0 +1,21 @@
+create table product_feature_counts
+(
+    product_id    bigint      not null references products (id),
+    status        varchar(50) not null,
+    feature_count bigint      not null default 0,
+    primary key (product_id, status)
+);
+
+create table release_feature_counts
+(
+    release_id    bigint      not null references releases (id) on delete cascade,
+    status        varchar(50) not null,
+    feature_count bigint      not null default 0,
+    primary key (release_id, status)
+);
+
+insert into product_feature_counts (product_id, status, feature_count)
+select product_id, status, count(*) from features group by product_id, status;
+
+insert into release_feature_counts (release_id, status, feature_count)
+select release_id, status, count(*) from features where release_id is not null group by release_id, status;
@@ -0,0 +1,38 @@
+create sequence feature_status_transition_id_seq start with 100 increment by 50;
+
+create table feature_status_transitions
+(
+    id          bigint      not null default nextval('feature_status_transition_id_seq'),
+    feature_id  bigint      not null references features (id),
+    from_status varchar(50),
+    to_status   varchar(50) not null,
+    changed_by  varchar(255),
+    changed_at  timestamp   not null default current_timestamp,
+    primary key (id)
+);
+
+create index idx_feature_status_transitions_feature_id on feature_status_transitions (feature_id, to_status);
+
+create table cycle_time_histograms
+(
+    scope        varchar(20) not null,
+    scope_id     bigint      not null,
+    metric       varchar(20) not null,
+    bucket       int         not null,
+    sample_count bigint      not null default 0,
+    primary key (scope, scope_id, metric, bucket)
+);
+
+-- one sample per metric for each released feature, as of its latest release, so that the histograms can be corrected
+-- when the feature is reopened, moved to another release or deleted
+create table cycle_time_samples
+(
+    feature_id bigint      not null references features (id),
+    metric     varchar(20) not null,
+    product_id bigint      not null,
+    release_id bigint,
+    bucket     int         not null,
+    primary key (feature_id, metric)
+);
+
+create index idx_cycle_time_samples_release_id on cycle_time_samples (release_id);
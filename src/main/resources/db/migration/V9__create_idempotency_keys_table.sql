@@ -0,0 +1,13 @@
+create table idempotency_keys
+(
+    scope           varchar(512)  not null,
+    idempotency_key varchar(255)  not null,
+    request_hash    varchar(64),
+    status_code     int,
+    location        varchar(2048),
+    created_at      timestamp     not null,
+    expires_at      timestamp     not null,
+    primary key (scope, idempotency_key)
+);
+
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
@@ -2,10 +2,15 @@ package com.sivalabs.ft.features;
 
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
+import com.sivalabs.ft.features.domain.CatalogVersion;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
 
@@ -13,7 +18,28 @@ import org.springframework.test.web.servlet.assertj.MockMvcTester;
 @AutoConfigureMockMvc
 @Import(TestcontainersConfiguration.class)
 @Sql(scripts = {"/test-data.sql"})
+@TestPropertySource(
+        properties = {
+            "ft.rate-limit.enabled=false",
+            "ft.config-snapshot.enabled=false",
+            "ft.observability.query-budget-enforced=true",
+            // releases put in DELETING state by a test are only deleted when the test asks for it
+            "ft.releases.deletion-poll-interval=PT1H"
+        })
 public abstract class AbstractIT {
     @Autowired
     protected MockMvcTester mvc;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        // test-data.sql bypasses Hibernate, so anything cached by a previous test is stale
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        catalogVersion.changed();
+    }
 }
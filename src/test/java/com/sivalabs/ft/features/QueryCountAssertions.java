@@ -0,0 +1,51 @@
+package com.sivalabs.ft.features;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.config.QueryCounter;
+import java.util.function.Supplier;
+import org.assertj.core.api.AbstractLongAssert;
+
+/**
+ * Pins the number of SQL statements executed by a piece of code, e.g. a MockMvc exchange.
+ *
+ * <pre>{@code
+ * var result = assertThatStatementCount(() -> mvc.get().uri("/api/comments?featureCode=IDEA-1").exchange())
+ *         .isEqualTo(1);
+ * }</pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {}
+
+    public static <T> StatementCountAssert<T> assertThatStatementCount(Supplier<T> action) {
+        try (var counter = QueryCounter.open()) {
+            T result = action.get();
+            return new StatementCountAssert<>(counter.count(), result);
+        }
+    }
+
+    public static final class StatementCountAssert<T> {
+        private final long count;
+        private final T result;
+
+        private StatementCountAssert(long count, T result) {
+            this.count = count;
+            this.result = result;
+        }
+
+        public T isEqualTo(long expected) {
+            statements().isEqualTo(expected);
+            return result;
+        }
+
+        public T isLessThanOrEqualTo(long max) {
+            statements().isLessThanOrEqualTo(max);
+            return result;
+        }
+
+        private AbstractLongAssert<?> statements() {
+            return assertThat(count).as("number of SQL statements");
+        }
+    }
+}
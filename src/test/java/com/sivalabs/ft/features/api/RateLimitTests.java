@@ -0,0 +1,54 @@
+package com.sivalabs.ft.features.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+@TestPropertySource(
+        properties = {"ft.rate-limit.enabled=true", "ft.rate-limit.capacity=2", "ft.rate-limit.refill-per-second=0.01"})
+class RateLimitTests extends AbstractIT {
+
+    @Test
+    @WithMockOAuth2User(username = "rate-limited-user")
+    void shouldRejectRequestsOverTheLimitWithRetryAfter() {
+        assertThat(addComment()).hasStatus(HttpStatus.CREATED);
+        assertThat(addComment()).hasStatus(HttpStatus.CREATED);
+
+        var rejected = addComment();
+        assertThat(rejected).hasStatus(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected).headers().containsHeader(HttpHeaders.RETRY_AFTER);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "another-user")
+    void shouldNotLimitReads() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(mvc.get()
+                            .uri("/api/comments?featureCode={code}", "IDEA-1")
+                            .exchange())
+                    .hasStatusOk();
+        }
+    }
+
+    private MvcTestResult addComment() {
+        var payload =
+                """
+                {
+                    "featureCode": "IDEA-1",
+                    "content": "This is a test comment"
+                }
+                """;
+        return mvc.post()
+                .uri("/api/comments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+    }
+}
@@ -0,0 +1,26 @@
+package com.sivalabs.ft.features.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "ft.observability.server-timing.enabled=true")
+class ServerTimingFilterTests extends AbstractIT {
+
+    @Test
+    void shouldAddServerTimingHeader() {
+        var result =
+                mvc.get().uri("/api/features?productCode={code}", "intellij").exchange();
+        assertThat(result).hasStatusOk().containsHeader("Server-Timing");
+
+        var metrics =
+                Arrays.asList(result.getResponse().getHeader("Server-Timing").split(", "));
+        assertThat(metrics).allMatch(metric -> metric.matches("[a-z]+;dur=\\d+\\.\\d"));
+        assertThat(metrics)
+                .map(metric -> metric.substring(0, metric.indexOf(';')))
+                .containsExactly("db", "mapping", "total");
+    }
+}
@@ -0,0 +1,94 @@
+package com.sivalabs.ft.features.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(
+        properties = {
+            "ft.traffic-capture.enabled=true",
+            "ft.traffic-capture.file=target/traffic/capture-tests.ndjson",
+            "ft.traffic-capture.pseudonym-key=" + TrafficCaptureTests.PSEUDONYM_KEY
+        })
+class TrafficCaptureTests extends AbstractIT {
+    static final String PSEUDONYM_KEY = "capture-tests-key";
+    private static final Path CAPTURE_FILE = Path.of("target/traffic/capture-tests.ndjson");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldRecordSanitizedRequests() {
+        String content = "Captured comment " + UUID.randomUUID();
+        var payload =
+                """
+                {
+                    "featureCode": "IDEA-1",
+                    "content": "%s",
+                    "email": "user@example.com"
+                }
+                """
+                        .formatted(content);
+        var result = mvc.post()
+                .uri("/api/comments")
+                .header("Authorization", "Bearer secret-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.CREATED);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            CapturedRequest captured = find(content);
+            assertThat(captured.method()).isEqualTo("POST");
+            assertThat(captured.path()).isEqualTo("/api/comments");
+            assertThat(captured.status()).isEqualTo(201);
+            assertThat(captured.user())
+                    .isEqualTo(TrafficCaptureFilter.pseudonym(TrafficCaptureFilter.secretKey(PSEUDONYM_KEY), "user"))
+                    .isNotEqualTo(TrafficCaptureFilter.pseudonym(TrafficCaptureFilter.secretKey("other-key"), "user"));
+            assertThat(captured.body()).contains("IDEA-1").contains("\"email\":\"***\"");
+            assertThat(captured.body()).doesNotContain("user@example.com");
+            assertThat(captured.toString()).doesNotContain("secret-token").doesNotContain(PSEUDONYM_KEY);
+        });
+    }
+
+    @Test
+    void shouldRedactQueryParameters() {
+        String marker = UUID.randomUUID().toString();
+        var result = mvc.get()
+                .uri("/api/features?productCode={code}&token={token}&marker={marker}", "intellij", "abc", marker)
+                .exchange();
+        assertThat(result).hasStatusOk();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            CapturedRequest captured = find(marker);
+            assertThat(captured.query()).isEqualTo("productCode=intellij&token=***&marker=" + marker);
+            assertThat(captured.user()).isNull();
+            assertThat(captured.body()).isNull();
+            assertThat(captured.durationMicros()).isPositive();
+        });
+    }
+
+    private CapturedRequest find(String text) throws IOException {
+        List<String> lines = Files.exists(CAPTURE_FILE) ? Files.readAllLines(CAPTURE_FILE) : List.of();
+        String line = lines.stream()
+                .filter(l -> l.contains(text))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No captured request containing " + text));
+        return objectMapper.readValue(line, CapturedRequest.class);
+    }
+}
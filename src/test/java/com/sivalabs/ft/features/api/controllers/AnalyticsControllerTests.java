@@ -0,0 +1,126 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.CycleTimeReportDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+class AnalyticsControllerTests extends AbstractIT {
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReportCycleTimeOfReleasedFeatures() {
+        updateStatus("IDEA-1", "IN_PROGRESS");
+        updateStatus("IDEA-1", "RELEASED");
+
+        var result = mvc.get()
+                .uri("/api/analytics/cycle-time?releaseCode={code}", "IDEA-2023.3.8")
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(CycleTimeReportDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.leadTime().samples()).isEqualTo(1);
+                    assertThat(dto.leadTime().p50Minutes()).isPositive();
+                    assertThat(dto.cycleTime().samples()).isEqualTo(1);
+                    assertThat(dto.cycleTime().p95Minutes()).isEqualTo(1.0);
+                });
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldCountFeatureReleasedAgainOnce() {
+        updateStatus("IDEA-1", "IN_PROGRESS");
+        updateStatus("IDEA-1", "RELEASED");
+        updateStatus("IDEA-1", "IN_PROGRESS");
+        assertThat(report("releaseCode", "IDEA-2023.3.8").leadTime().samples()).isZero();
+
+        updateStatus("IDEA-1", "RELEASED");
+        var report = report("productCode", "intellij");
+        assertThat(report.leadTime().samples()).isEqualTo(1);
+        assertThat(report.cycleTime().samples()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldMoveSamplesWithTheRelease() {
+        updateStatus("IDEA-1", "RELEASED");
+        update("IDEA-1", "IDEA-2024.2.3", "RELEASED");
+
+        assertThat(report("releaseCode", "IDEA-2023.3.8").leadTime().samples()).isZero();
+        assertThat(report("releaseCode", "IDEA-2024.2.3").leadTime().samples()).isEqualTo(1);
+        assertThat(report("productCode", "intellij").leadTime().samples()).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldRemoveSamplesOfDeletedFeatures() {
+        updateStatus("IDEA-1", "RELEASED");
+        assertThat(mvc.delete().uri("/api/features/{code}", "IDEA-1").exchange())
+                .hasStatusOk();
+
+        assertThat(report("productCode", "intellij").leadTime().samples()).isZero();
+        assertThat(report("releaseCode", "IDEA-2023.3.8").leadTime().samples()).isZero();
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturnEmptyReportWhenNothingReleased() {
+        var result = mvc.get()
+                .uri("/api/analytics/cycle-time?productCode={code}", "goland")
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(CycleTimeReportDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.leadTime().samples()).isZero();
+                    assertThat(dto.leadTime().p50Minutes()).isNull();
+                });
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn400WhenScopeIsMissing() {
+        var result = mvc.get().uri("/api/analytics/cycle-time").exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    private CycleTimeReportDto report(String scope, String code) {
+        var result = mvc.get()
+                .uri("/api/analytics/cycle-time?{scope}={code}", scope, code)
+                .exchange();
+        return assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(CycleTimeReportDto.class)
+                .actual();
+    }
+
+    private void updateStatus(String code, String status) {
+        update(code, "IDEA-2023.3.8", status);
+    }
+
+    private void update(String code, String releaseCode, String status) {
+        var payload =
+                """
+            {
+                "title": "Redesign Structure Tool Window",
+                "releaseCode": "%s",
+                "status": "%s"
+            }
+            """
+                        .formatted(releaseCode, status);
+        var result = mvc.put()
+                .uri("/api/features/{code}", code)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(result).hasStatusOk();
+    }
+}
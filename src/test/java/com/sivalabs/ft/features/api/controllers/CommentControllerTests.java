@@ -1,9 +1,11 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import static com.sivalabs.ft.features.QueryCountAssertions.assertThatStatementCount;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.CommentSliceDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -52,7 +54,11 @@ class CommentControllerTests extends AbstractIT {
 
     @Test
     void shouldGetCommentsByFeatureCode() {
-        var result = mvc.get().uri("/api/comments?featureCode={code}", "IDEA-1").exchange();
+        // comments are fetched together with their feature, so mapping doesn't trigger extra queries
+        var result = assertThatStatementCount(() -> mvc.get()
+                        .uri("/api/comments?featureCode={code}", "IDEA-1")
+                        .exchange())
+                .isEqualTo(1);
 
         assertThat(result)
                 .hasStatusOk()
@@ -72,6 +78,41 @@ class CommentControllerTests extends AbstractIT {
         assertThat(result).hasStatusOk();
     }
 
+    @Test
+    void shouldScrollCommentsUsingCursor() {
+        var firstPage = mvc.get()
+                .uri("/api/comments/scroll?featureCode={code}&size=2", "IDEA-1")
+                .exchange();
+        CommentSliceDto first = assertThat(firstPage)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(CommentSliceDto.class)
+                .actual();
+        assertThat(first.comments()).extracting("id").containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        var secondPage = mvc.get()
+                .uri("/api/comments/scroll?featureCode={code}&size=2&cursor={cursor}", "IDEA-1", first.nextCursor())
+                .exchange();
+        assertThat(secondPage)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(CommentSliceDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.comments()).extracting("id").containsExactly(3L);
+                    assertThat(dto.nextCursor()).isNull();
+                });
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCursor() {
+        var result = mvc.get()
+                .uri("/api/comments/scroll?featureCode={code}&cursor={cursor}", "IDEA-1", "not-a-cursor")
+                .exchange();
+
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldRemoveComment() {
@@ -1,16 +1,25 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import static com.sivalabs.ft.features.QueryCountAssertions.assertThatStatementCount;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 class FeatureControllerTests extends AbstractIT {
+    @Autowired
+    private JdbcClient jdbcClient;
 
     @Test
     void shouldGetFeaturesByReleaseCode() {
@@ -25,6 +34,51 @@ class FeatureControllerTests extends AbstractIT {
                 .isEqualTo(2);
     }
 
+    @Test
+    void shouldIncludeCommentsCountWhenRequested() {
+        // one query for the features and their release, one for all the comment counts
+        var result = assertThatStatementCount(() -> mvc.get()
+                        .uri("/api/features?releaseCode={code}&includeCommentsCount=true", "IDEA-2023.3.8")
+                        .exchange())
+                .isLessThanOrEqualTo(2);
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[?(@.code == 'IDEA-1')].commentsCount")
+                .asArray()
+                .containsExactly(3);
+    }
+
+    @Test
+    void shouldNotIncludeCommentsCountByDefault() {
+        var result = mvc.get()
+                .uri("/api/features?releaseCode={code}", "IDEA-2023.3.8")
+                .exchange();
+        assertThat(result).hasStatusOk().bodyJson().doesNotHavePath("$[0].commentsCount");
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedFields() {
+        var result = assertThatStatementCount(() -> mvc.get()
+                        .uri("/api/features?releaseCode={code}&fields={fields}", "IDEA-2023.3.8", "title,status")
+                        .exchange())
+                .isEqualTo(1);
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[0]")
+                .asMap()
+                .containsOnlyKeys("code", "title", "status");
+    }
+
+    @Test
+    void shouldReturn400WhenRequestingUnknownField() {
+        var result = mvc.get()
+                .uri("/api/features?productCode={code}&fields={fields}", "intellij", "title,description")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     void shouldGetFeatureByCode() {
         String code = "IDEA-1";
@@ -40,6 +94,92 @@ class FeatureControllerTests extends AbstractIT {
         assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReplayCreateFeatureWithSameIdempotencyKey() {
+        var payload =
+                """
+            {
+                "productCode": "goland",
+                "title": "Idempotent Feature",
+                "description": "Created once"
+            }
+            """;
+
+        var first = mvc.post()
+                .uri("/api/features")
+                .header("Idempotency-Key", "create-feature-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(first).hasStatus(HttpStatus.CREATED);
+
+        var replay = mvc.post()
+                .uri("/api/features")
+                .header("Idempotency-Key", "create-feature-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(replay)
+                .hasStatus(HttpStatus.CREATED)
+                .headers()
+                .containsEntry("Idempotent-Replayed", List.of("true"));
+        assertThat(replay.getResponse().getHeader("Location"))
+                .isEqualTo(first.getResponse().getHeader("Location"));
+
+        var features =
+                mvc.get().uri("/api/features?productCode={code}", "goland").exchange();
+        assertThat(features)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[?(@.title == 'Idempotent Feature')]")
+                .asArray()
+                .hasSize(1);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldRejectIdempotencyKeyReusedWithDifferentPayload() {
+        var first = mvc.post()
+                .uri("/api/features")
+                .header("Idempotency-Key", "create-feature-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                {
+                    "productCode": "goland",
+                    "title": "First Feature",
+                    "description": "Created once"
+                }
+                """)
+                .exchange();
+        assertThat(first).hasStatus(HttpStatus.CREATED);
+
+        var reused = mvc.post()
+                .uri("/api/features")
+                .header("Idempotency-Key", "create-feature-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                {
+                    "productCode": "goland",
+                    "title": "Second Feature",
+                    "description": "Created once"
+                }
+                """)
+                .exchange();
+        assertThat(reused).hasStatus(HttpStatus.UNPROCESSABLE_ENTITY);
+
+        var features =
+                mvc.get().uri("/api/features?productCode={code}", "goland").exchange();
+        assertThat(features)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[?(@.title == 'Second Feature')]")
+                .asArray()
+                .isEmpty();
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldCreateNewFeature() {
@@ -79,6 +219,42 @@ class FeatureControllerTests extends AbstractIT {
                 });
     }
 
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldNotAssignFeaturesToReleaseBeingDeleted() {
+        jdbcClient
+                .sql("update releases set status = 'DELETING' where code = 'IDEA-2024.2.3'")
+                .update();
+
+        var create = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                {
+                    "productCode": "intellij",
+                    "releaseCode": "IDEA-2024.2.3",
+                    "title": "Late Feature"
+                }
+                """)
+                .exchange();
+        assertThat(create).hasStatus(HttpStatus.CONFLICT);
+
+        var update = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                {
+                    "title": "Moved Feature",
+                    "releaseCode": "IDEA-2024.2.3",
+                    "status": "IN_PROGRESS"
+                }
+                """)
+                .exchange();
+        assertThat(update).hasStatus(HttpStatus.CONFLICT);
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldUpdateFeature() {
@@ -123,4 +299,73 @@ class FeatureControllerTests extends AbstractIT {
         var getResult = mvc.get().uri("/api/features/{code}", "IDEA-2").exchange();
         assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldDeleteFeatureWithComments() {
+        var result = mvc.delete().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(result).hasStatusOk();
+
+        var comments =
+                mvc.get().uri("/api/comments?featureCode={code}", "IDEA-1").exchange();
+        assertThat(comments).hasStatusOk().bodyJson().extractingPath("$.size()").isEqualTo(0);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldDeleteProductFeaturesWithTheirDependents() {
+        var result =
+                mvc.delete().uri("/api/features?productCode={code}", "intellij").exchange();
+        assertThat(result).hasStatus(HttpStatus.ACCEPTED);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            var features = mvc.get()
+                    .uri("/api/features?productCode={code}", "intellij")
+                    .exchange();
+            assertThat(features)
+                    .hasStatusOk()
+                    .bodyJson()
+                    .extractingPath("$.size()")
+                    .isEqualTo(0);
+        });
+        var comments =
+                mvc.get().uri("/api/comments?featureCode={code}", "IDEA-1").exchange();
+        assertThat(comments).hasStatusOk().bodyJson().extractingPath("$.size()").isEqualTo(0);
+        assertThat(jdbcClient
+                        .sql("select count(*) from favorite_features where feature_id in (1, 2)")
+                        .query(Long.class)
+                        .single())
+                .isZero();
+        var summary = mvc.get().uri("/api/products/{code}/summary", "intellij").exchange();
+        assertThat(summary)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureStatusSummaryDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.totalFeatures()).isZero();
+                    assertThat(dto.featuresByStatus()).containsEntry(FeatureStatus.NEW, 0L);
+                });
+        var releaseSummary =
+                mvc.get().uri("/api/releases/{code}/summary", "IDEA-2023.3.8").exchange();
+        assertThat(releaseSummary)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureStatusSummaryDto.class)
+                .satisfies(dto -> assertThat(dto.totalFeatures()).isZero());
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn400WhenDeletingFeaturesWithoutProductOrRelease() {
+        var result = mvc.delete().uri("/api/features").exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn404WhenDeletingFeaturesOfUnknownProduct() {
+        var result =
+                mvc.delete().uri("/api/features?productCode={code}", "unknown").exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
 }
@@ -1,11 +1,16 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import static com.sivalabs.ft.features.QueryCountAssertions.assertThatStatementCount;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
@@ -22,6 +27,56 @@ class ProductControllerTests extends AbstractIT {
                 .isEqualTo(5);
     }
 
+    @Test
+    void shouldServeRepeatedProductListingsFromResponseCache() {
+        assertThat(mvc.get().uri("/api/products").exchange()).hasStatusOk();
+
+        var result = assertThatStatementCount(
+                        () -> mvc.get().uri("/api/products").exchange())
+                .isEqualTo(0);
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(5);
+        assertThat(mvc.get()
+                        .uri("/api/products")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .exchange())
+                .hasStatusOk()
+                .hasHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldNotServeCachedProductListingAfterProductIsCreated() {
+        assertThat(mvc.get().uri("/api/products").exchange()).hasStatusOk();
+        var payload =
+                """
+            {
+                "code": "fleet",
+                "prefix": "FLT",
+                "name": "Fleet",
+                "description": "JetBrains Fleet",
+                "imageUrl": "https://resources.jetbrains.com/storage/products/company/brand/logos/Fleet.png"
+            }
+            """;
+        assertThat(mvc.post()
+                        .uri("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload)
+                        .exchange())
+                .hasStatus(HttpStatus.CREATED);
+
+        assertThat(mvc.get().uri("/api/products").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(6);
+    }
+
     @Test
     void shouldGetProductByCode() {
         var expected = new ProductDto(
@@ -43,6 +98,31 @@ class ProductControllerTests extends AbstractIT {
                 .isEqualTo(expected);
     }
 
+    @Test
+    void shouldServeRepeatedProductLookupsFromSecondLevelCache() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(mvc.get().uri("/api/products/{code}", "goland").exchange()).hasStatusOk();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        assertThat(mvc.get().uri("/api/products/{code}", "goland").exchange()).hasStatusOk();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void shouldGetProductSummary() {
+        var result = mvc.get().uri("/api/products/{code}/summary", "intellij").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureStatusSummaryDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.totalFeatures()).isEqualTo(2);
+                    assertThat(dto.featuresByStatus())
+                            .containsEntry(FeatureStatus.NEW, 2L)
+                            .containsEntry(FeatureStatus.RELEASED, 0L);
+                });
+    }
+
     @Test
     void shouldReturn404WhenProductNotFound() {
         var actual = mvc.get().uri("/api/products/{code}", "INVALID_CODE").exchange();
@@ -1,11 +1,15 @@
 package com.sivalabs.ft.features.api.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatusSummaryDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -33,6 +37,38 @@ class ReleaseControllerTests extends AbstractIT {
         });
     }
 
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldUpdateReleaseSummaryWhenFeatureStatusChanges() {
+        var payload =
+                """
+            {
+                "title": "Redesign Structure Tool Window",
+                "releaseCode": "IDEA-2023.3.8",
+                "status": "IN_PROGRESS"
+            }
+            """;
+        var updateResult = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(updateResult).hasStatusOk();
+
+        var result =
+                mvc.get().uri("/api/releases/{code}/summary", "IDEA-2023.3.8").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureStatusSummaryDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.totalFeatures()).isEqualTo(2);
+                    assertThat(dto.featuresByStatus())
+                            .containsEntry(FeatureStatus.NEW, 1L)
+                            .containsEntry(FeatureStatus.IN_PROGRESS, 1L);
+                });
+    }
+
     @Test
     void shouldReturn404WhenReleaseNotFound() {
         var result = mvc.get().uri("/api/releases/{code}", "INVALID_CODE").exchange();
@@ -96,10 +132,52 @@ class ReleaseControllerTests extends AbstractIT {
     @WithMockOAuth2User(username = "user")
     void shouldDeleteRelease() {
         var result = mvc.delete().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
-        assertThat(result).hasStatusOk();
+        assertThat(result).hasStatus(HttpStatus.ACCEPTED);
 
         // Verify deletion
-        var getResult = mvc.get().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
-        assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            var getResult =
+                    mvc.get().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
+            assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
+        });
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldDetachFeaturesWhenDeletingRelease() {
+        var result = mvc.delete().uri("/api/releases/{code}", "IDEA-2023.3.8").exchange();
+        assertThat(result).hasStatus(HttpStatus.ACCEPTED);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            var progress = mvc.get()
+                    .uri("/api/releases/{code}/deletion", "IDEA-2023.3.8")
+                    .exchange();
+            assertThat(progress).hasStatus(HttpStatus.NOT_FOUND);
+        });
+        var feature = mvc.get().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(feature)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.releaseCode")
+                .isNull();
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldNotUpdateReleaseToDeletingStatus() {
+        var payload =
+                """
+            {
+                "description": "Updated description",
+                "status": "DELETING"
+            }
+            """;
+
+        var result = mvc.put()
+                .uri("/api/releases/{code}", "IDEA-2023.3.8")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
     }
 }
@@ -0,0 +1,62 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ResponseCacheProperties;
+import com.sivalabs.ft.features.domain.CatalogVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SerializedResponseCacheTest {
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final SerializedResponseCache cache = new SerializedResponseCache(
+            catalogVersion,
+            new ObjectMapper(),
+            new ApplicationProperties(
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    new ResponseCacheProperties(100, 1024, Duration.ofMinutes(1)),
+                    null,
+                    null,
+                    null,
+                    null),
+            new SimpleMeterRegistry());
+
+    @Test
+    void shouldServeCachedResponseUntilTheCatalogChanges() {
+        assertThat(cache.get("key", () -> List.of("first")).getBody())
+                .asString()
+                .isEqualTo("[\"first\"]");
+        assertThat(cache.get("key", () -> List.of("second")).getBody())
+                .asString()
+                .isEqualTo("[\"first\"]");
+
+        catalogVersion.changed();
+
+        assertThat(cache.get("key", () -> List.of("third")).getBody())
+                .asString()
+                .isEqualTo("[\"third\"]");
+    }
+
+    @Test
+    void shouldNotKeepResponseLoadedWhileTheCatalogChanged() {
+        var loaded = cache.get("key", () -> {
+            catalogVersion.changed();
+            return List.of("before the change");
+        });
+        assertThat(loaded.getBody()).asString().isEqualTo("[\"before the change\"]");
+
+        assertThat(cache.get("key", () -> List.of("after the change")).getBody())
+                .asString()
+                .isEqualTo("[\"after the change\"]");
+    }
+}
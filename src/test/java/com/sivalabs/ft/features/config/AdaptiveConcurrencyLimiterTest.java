@@ -0,0 +1,86 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.ft.features.ApplicationProperties.DbPoolProperties;
+import com.sivalabs.ft.features.domain.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final PoolPressure pressure = new PoolPressure(TimeUnit.SECONDS.toNanos(5), now::get);
+    private final DbPoolProperties properties =
+            new DbPoolProperties(Duration.ofMillis(100), Duration.ofSeconds(5), true, 4, 2, 8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(pressure, properties, meterRegistry, now::get);
+
+    @Test
+    void shouldShedRequestsOverTheLimit() {
+        List<MockHttpServletRequest> running = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            running.add(start());
+        }
+
+        assertThatThrownBy(this::start).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry
+                        .get("ft.db.pool.limiter.requests")
+                        .tag("outcome", "SHED")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+
+        complete(running.removeFirst());
+        running.add(start());
+    }
+
+    @Test
+    void shouldLowerTheLimitWhileThePoolIsSaturatedAndRaiseItOnceItKeepsUp() {
+        for (int i = 0; i < 20; i++) {
+            pressure.recordWait(500 * MILLI);
+        }
+        assertThat(pressure.averageWaitNanos()).isGreaterThan(100 * MILLI);
+
+        // at most one decrease per wait budget
+        complete(start());
+        complete(start());
+        assertThat(limiter.limit()).isEqualTo(3);
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(100 * MILLI);
+            complete(start());
+        }
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        // the average decays once the pool keeps up
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(pressure.averageWaitNanos()).isLessThan(MILLI);
+        for (int i = 0; i < 50; i++) {
+            var first = start();
+            var second = start();
+            complete(first);
+            complete(second);
+        }
+        assertThat(limiter.limit()).isGreaterThan(2);
+    }
+
+    private MockHttpServletRequest start() {
+        var request = new MockHttpServletRequest("GET", "/api/features");
+        limiter.preHandle(request, new MockHttpServletResponse(), new Object());
+        return request;
+    }
+
+    private void complete(MockHttpServletRequest request) {
+        limiter.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+    }
+}
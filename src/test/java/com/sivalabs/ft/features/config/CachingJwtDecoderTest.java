@@ -0,0 +1,49 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+    private final AtomicInteger decodeCount = new AtomicInteger();
+
+    @Test
+    void shouldDecodeTheSameTokenOnlyOnce() {
+        var decoder = new CachingJwtDecoder(delegate(Instant.now().plusSeconds(300)), 100, Duration.ofMinutes(5));
+
+        Jwt first = decoder.decode("token-1");
+        Jwt second = decoder.decode("token-1");
+        decoder.decode("token-2");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheExpiredTokens() {
+        var decoder = new CachingJwtDecoder(delegate(Instant.now().minusSeconds(1)), 100, Duration.ofMinutes(5));
+
+        decoder.decode("token-1");
+        decoder.decode("token-1");
+
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    private JwtDecoder delegate(Instant expiresAt) {
+        return token -> {
+            decodeCount.incrementAndGet();
+            return new Jwt(
+                    token,
+                    expiresAt.minusSeconds(600),
+                    expiresAt,
+                    Map.of("alg", "none"),
+                    Map.of("preferred_username", "user"));
+        };
+    }
+}
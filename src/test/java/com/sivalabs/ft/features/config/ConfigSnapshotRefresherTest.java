@@ -0,0 +1,101 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.client.RestClient;
+
+class ConfigSnapshotRefresherTest {
+    private static final String CONFIG =
+            """
+            {"name": "feature-service", "profiles": ["default"], "propertySources": [
+                {"name": "feature-service.properties", "source": {"ft.rate-limit.capacity": "50"}},
+                {"name": "application.properties", "source": {"ft.rate-limit.capacity": "30", "logging.level.root": "WARN"}}
+            ]}
+            """;
+
+    private final List<Object> events = new ArrayList<>();
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private HttpServer server;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/feature-service/default", exchange -> {
+            byte[] body = CONFIG.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        environment
+                .getPropertySources()
+                .addLast(new MapPropertySource(
+                        "Config resource 'class path resource [application.properties]'",
+                        Map.of("spring.application.name", "feature-service", "ft.rate-limit.capacity", "20")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldSaveAndApplyFetchedConfiguration() throws IOException {
+        Path snapshot = tempDir.resolve("config-snapshot.properties");
+        var refresher = refresher(snapshot);
+
+        assertThat(refresher.refresh()).containsExactlyInAnyOrder("ft.rate-limit.capacity", "logging.level.root");
+
+        assertThat(environment.getProperty("ft.rate-limit.capacity")).isEqualTo("50");
+        assertThat(Files.readString(snapshot)).contains("ft.rate-limit.capacity=50");
+        assertThat(events).singleElement().isInstanceOf(EnvironmentChangeEvent.class);
+
+        assertThat(refresher.refresh()).isEmpty();
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void shouldSaveSnapshotReadableByTheOwnerOnly() throws IOException {
+        Path snapshot = tempDir.resolve("config-snapshot.properties");
+
+        refresher(snapshot).refresh();
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(snapshot)))
+                .isEqualTo("rw-------");
+    }
+
+    private ConfigSnapshotRefresher refresher(Path snapshot) {
+        return new ConfigSnapshotRefresher(
+                "http://localhost:" + server.getAddress().getPort(),
+                snapshot,
+                Duration.ofSeconds(5),
+                environment,
+                events::add,
+                RestClient.builder());
+    }
+}
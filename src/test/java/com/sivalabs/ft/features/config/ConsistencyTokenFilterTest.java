@@ -0,0 +1,77 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConsistencyTokenFilterTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final ConsistencyTokenFilter filter =
+            new ConsistencyTokenFilter(Duration.ofSeconds(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldReturnTokenForSuccessfulWrite() throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/features"), response, (req, res) -> res.getWriter()
+                .write("{}"));
+
+        assertThat(response.getHeader(ConsistencyTokenFilter.CONSISTENCY_TOKEN_HEADER))
+                .isEqualTo(String.valueOf(NOW.toEpochMilli()));
+    }
+
+    @Test
+    void shouldNotReturnTokenForFailedWrite() throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(
+                new MockHttpServletRequest("POST", "/api/features"), response, (req, res) -> ((HttpServletResponse) res)
+                        .sendError(400));
+
+        assertThat(response.getHeader(ConsistencyTokenFilter.CONSISTENCY_TOKEN_HEADER))
+                .isNull();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWithinTheWindowOfTheWrite() throws Exception {
+        assertThat(isPinned(String.valueOf(NOW.minusSeconds(10).toEpochMilli())))
+                .isTrue();
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+
+    @Test
+    void shouldNotReadFromPrimaryAfterTheWindowOfTheWrite() throws Exception {
+        assertThat(isPinned(String.valueOf(NOW.minusSeconds(15).toEpochMilli())))
+                .isFalse();
+    }
+
+    @Test
+    void shouldIgnoreTokenFromTheFuture() throws Exception {
+        assertThat(isPinned(String.valueOf(NOW.plusSeconds(3600).toEpochMilli())))
+                .isFalse();
+    }
+
+    @Test
+    void shouldIgnoreMalformedToken() throws Exception {
+        assertThat(isPinned("not-a-token")).isFalse();
+        assertThat(isPinned(null)).isFalse();
+    }
+
+    private boolean isPinned(String token) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/features");
+        if (token != null) {
+            request.addHeader(ConsistencyTokenFilter.CONSISTENCY_TOKEN_HEADER, token);
+        }
+        var pinned = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> pinned.set(PrimaryReads.isPinned()));
+        return pinned.get();
+    }
+}
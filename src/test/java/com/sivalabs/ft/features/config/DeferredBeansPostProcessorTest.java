@@ -0,0 +1,33 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+class DeferredBeansPostProcessorTest {
+
+    @Test
+    void shouldMakeOnlySpringdocAndOpenApiBeansLazy() {
+        var beanFactory = new DefaultListableBeanFactory();
+        var springdocConfiguration = new GenericBeanDefinition();
+        springdocConfiguration.setBeanClassName("org.springdoc.core.configuration.SpringDocConfiguration");
+        beanFactory.registerBeanDefinition("springDocConfiguration", springdocConfiguration);
+        var springdocBean = new RootBeanDefinition();
+        springdocBean.setFactoryBeanName("springDocConfiguration");
+        springdocBean.setFactoryMethodName("openAPIBuilder");
+        beanFactory.registerBeanDefinition("openAPIBuilder", springdocBean);
+        beanFactory.registerBeanDefinition("openAPIConfig", new RootBeanDefinition(OpenAPIConfig.class));
+        beanFactory.registerBeanDefinition("securityConfig", new RootBeanDefinition(SecurityConfig.class));
+
+        var postProcessor = new DeferredBeansPostProcessor();
+        postProcessor.postProcessBeanFactory(beanFactory);
+
+        assertThat(postProcessor.getDeferredBeanNames())
+                .containsExactlyInAnyOrder("springDocConfiguration", "openAPIBuilder", "openAPIConfig");
+        assertThat(beanFactory.getBeanDefinition("openAPIBuilder").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("securityConfig").isLazyInit()).isFalse();
+    }
+}
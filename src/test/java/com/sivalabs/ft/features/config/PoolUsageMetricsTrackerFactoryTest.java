@@ -0,0 +1,45 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PoolUsageMetricsTrackerFactoryTest {
+    private final AtomicLong now = new AtomicLong();
+    private final PoolPressure pressure = new PoolPressure(TimeUnit.SECONDS.toNanos(5), now::get);
+    private final HikariConfig primary = new HikariConfig();
+    private final PoolUsageMetricsTrackerFactory factory =
+            new PoolUsageMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {}, primary, pressure);
+
+    @Test
+    void shouldTrackTheWaitsOfThePrimaryPool() {
+        primary.setPoolName("primary");
+
+        factory.create("primary", poolStats()).recordConnectionTimeout();
+
+        assertThat(pressure.averageWaitNanos()).isPositive();
+    }
+
+    @Test
+    void shouldNotTrackTheWaitsOfPoolsCopyingThePrimarySettings() {
+        primary.setPoolName("primary");
+
+        IMetricsTracker replica = factory.create("replica-0", poolStats());
+        replica.recordConnectionTimeout();
+        replica.recordConnectionAcquiredNanos(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(pressure.averageWaitNanos()).isZero();
+    }
+
+    private static PoolStats poolStats() {
+        return new PoolStats(0) {
+            @Override
+            protected void update() {}
+        };
+    }
+}
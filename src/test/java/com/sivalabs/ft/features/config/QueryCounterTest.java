@@ -0,0 +1,38 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class QueryCounterTest {
+
+    @Test
+    void shouldCountStatementsInEveryOpenCounter() {
+        try (var outer = QueryCounter.open()) {
+            QueryCounter.increment();
+            try (var inner = QueryCounter.open()) {
+                QueryCounter.increment();
+                assertThat(inner.count()).isEqualTo(1);
+            }
+            QueryCounter.increment();
+            assertThat(outer.count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldFailStatementsOverTheLimit() {
+        try (var outer = QueryCounter.open()) {
+            try (var request = QueryCounter.open(2)) {
+                QueryCounter.increment();
+                QueryCounter.increment();
+                assertThatThrownBy(QueryCounter::increment)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("over the budget of 2");
+                assertThat(request.count()).isEqualTo(3);
+            }
+            QueryCounter.increment();
+            assertThat(outer.count()).isEqualTo(4);
+        }
+    }
+}
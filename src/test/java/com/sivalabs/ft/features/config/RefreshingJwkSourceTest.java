@@ -0,0 +1,160 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestClient;
+
+class RefreshingJwkSourceTest {
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private HttpServer server;
+    private volatile JWKSet servedKeys = new JWKSet();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskScheduler.initialize();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = servedKeys.toString(true).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    void shouldServeKeysFromSnapshotWithoutFetching() throws Exception {
+        Path snapshot = snapshot(key("key-1"));
+        var jwkSource = jwkSource(snapshot, Duration.ofSeconds(30));
+
+        jwkSource.start();
+        try {
+            assertThat(select(jwkSource, "key-1")).singleElement().satisfies(jwk -> assertThat(jwk.getKeyID())
+                    .isEqualTo("key-1"));
+            assertThat(fetches).hasValue(0);
+        } finally {
+            jwkSource.stop();
+        }
+    }
+
+    @Test
+    void shouldRefreshInBackgroundWhenKeyIsUnknownAndWriteSnapshot() throws Exception {
+        RSAKey key1 = key("key-1");
+        RSAKey key2 = key("key-2");
+        Path snapshot = snapshot(key1);
+        servedKeys = new JWKSet(List.of(key1, key2));
+        var jwkSource = jwkSource(snapshot, Duration.ofSeconds(30));
+
+        jwkSource.start();
+        try {
+            // rejected rather than blocked until the refresh completes
+            assertThat(select(jwkSource, "key-2")).isEmpty();
+
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(select(jwkSource, "key-2")).hasSize(1));
+            assertThat(fetches).hasValue(1);
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(
+                            JWKSet.parse(Files.readString(snapshot)).getKeyByKeyId("key-2"))
+                    .isNotNull());
+        } finally {
+            jwkSource.stop();
+        }
+    }
+
+    @Test
+    void shouldFetchOnceForBurstOfUnknownKeys() throws Exception {
+        servedKeys = new JWKSet(key("key-1"));
+        var jwkSource = jwkSource(snapshot(key("key-1")), Duration.ofSeconds(30));
+
+        jwkSource.start();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            // the refreshes triggered by the burst queue up behind a busy scheduler thread
+            var schedulerBusy = new CountDownLatch(1);
+            taskScheduler.execute(() -> {
+                try {
+                    schedulerBusy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 0; i < 200; i++) {
+                String kid = "unknown-" + i;
+                executor.submit(() -> select(jwkSource, kid));
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            schedulerBusy.countDown();
+
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(fetches).hasValue(1));
+            // tokens signed with unknown keys within the minimum interval don't trigger more fetches
+            select(jwkSource, "unknown-again");
+            Thread.sleep(500);
+            assertThat(fetches).hasValue(1);
+        } finally {
+            jwkSource.stop();
+        }
+    }
+
+    private static List<JWK> select(RefreshingJwkSource jwkSource, String kid) {
+        return jwkSource.get(new JWKSelector(new JWKMatcher.Builder().keyID(kid).build()), null);
+    }
+
+    private static RSAKey key(String kid) throws Exception {
+        return new RSAKeyGenerator(2048).keyID(kid).generate();
+    }
+
+    private Path snapshot(RSAKey key) throws IOException {
+        Path snapshot = tempDir.resolve("jwks.json");
+        Files.writeString(snapshot, new JWKSet(key).toString(true));
+        return snapshot;
+    }
+
+    private RefreshingJwkSource jwkSource(Path snapshot, Duration minRefreshInterval) {
+        return new RefreshingJwkSource(
+                "http://localhost:%d/certs".formatted(server.getAddress().getPort()),
+                snapshot,
+                Duration.ofHours(1),
+                Duration.ofSeconds(1),
+                minRefreshInterval,
+                taskScheduler,
+                RestClient.builder());
+    }
+}
@@ -0,0 +1,30 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import org.hibernate.CacheMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaAwareJpaDialectTest {
+
+    @AfterEach
+    void tearDown() {
+        PrimaryReads.unpin();
+    }
+
+    @Test
+    void shouldNotCacheWhatReadOnlyTransactionsRead() {
+        assertThat(ReplicaAwareJpaDialect.cacheMode(true)).isEqualTo(CacheMode.GET);
+        assertThat(ReplicaAwareJpaDialect.cacheMode(false)).isEqualTo(CacheMode.NORMAL);
+    }
+
+    @Test
+    void shouldBypassAndRefreshTheCacheWhenPinned() {
+        PrimaryReads.pin();
+
+        assertThat(ReplicaAwareJpaDialect.cacheMode(true)).isEqualTo(CacheMode.REFRESH);
+        assertThat(ReplicaAwareJpaDialect.cacheMode(false)).isEqualTo(CacheMode.REFRESH);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sivalabs.ft.features.domain.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaRoutingDataSource dataSource =
+            new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(10), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        PrimaryReads.unpin();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+    }
+
+    @Test
+    void shouldUsePrimaryWhenPinned() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        PrimaryReads.pin();
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnreachable() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        dataSource.checkReplicas();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+    }
+}
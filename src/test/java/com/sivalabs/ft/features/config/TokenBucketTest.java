@@ -0,0 +1,24 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstUpToCapacityThenRefill() {
+        long now = 0;
+        var bucket = new TokenBucket(3, 1, now);
+
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(SECOND);
+
+        assertThat(bucket.tryConsume(now + SECOND)).isZero();
+        assertThat(bucket.tryConsume(now + SECOND)).isPositive();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sivalabs.ft.features.dataset;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Streams rows to a table with {@code COPY ... FROM STDIN} in CSV format, in chunks so that a large table never has to
+ * be held in memory. A null value is written as an unquoted empty field, which COPY loads as NULL.
+ */
+final class CopyWriter implements AutoCloseable {
+    private static final int FLUSH_SIZE = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+    private long rows;
+
+    CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                buffer.append(value);
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_SIZE) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!copyIn.isActive()) {
+            return;
+        }
+        flush();
+        copyIn.endCopy();
+    }
+}
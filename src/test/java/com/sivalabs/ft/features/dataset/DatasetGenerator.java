@@ -0,0 +1,396 @@
+package com.sivalabs.ft.features.dataset;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Bulk-loads a synthetic data set of production scale with {@code COPY}: products, releases, features, favorites and
+ * comments, with Zipf distributions so that a few products have most of the features and a few features and users
+ * most of the favorites and comments. The features that were started get their status history, and the released
+ * ones their lead and cycle time samples, so that the analytics reports have data.
+ * <p>
+ * The rows are added next to the existing ones, with ids above those in use or reserved from the sequences, and the
+ * feature counts, histograms and sequences are updated, so that the application can run on the data set right away.
+ * The feature code sequence is moved past the generated codes, so that the features created afterwards get new ones.
+ * All the rows are loaded in one transaction and the tables are analyzed afterwards, so that query plans reflect the
+ * new sizes.
+ * <p>
+ * Run {@link #main} with the {@code dataset} Maven profile, see {@link DatasetSpec} for the options. Caches of a
+ * running application are not aware of the new rows: load the data set before starting it.
+ */
+public final class DatasetGenerator {
+    private static final String[] WORDS = {
+        "support", "gradle", "maven", "kotlin", "java", "spring", "debugger", "editor", "refactoring", "inspection",
+        "completion", "navigation", "terminal", "docker", "database", "profiler", "git", "test", "runner", "plugin",
+        "toolchain", "index", "search", "performance", "memory", "startup", "project", "module", "dependency", "build",
+        "remote", "container", "template", "formatter", "import", "highlighting", "quick", "fix", "window", "theme"
+    };
+    private static final FeatureStatus[] OPEN_STATUSES = {
+        FeatureStatus.NEW,
+        FeatureStatus.NEW,
+        FeatureStatus.IN_PROGRESS,
+        FeatureStatus.IN_PROGRESS,
+        FeatureStatus.ON_HOLD
+    };
+    private static final LocalDateTime EPOCH =
+            LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusYears(3);
+
+    private final DatasetSpec spec;
+    private final SplittableRandom random;
+    private final PrintStream out;
+
+    private DatasetGenerator(DatasetSpec spec, PrintStream out) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("dataset.url", "jdbc:postgresql://localhost:55432/postgres");
+        String username = System.getProperty("dataset.username", "postgres");
+        String password = System.getProperty("dataset.password", "postgres");
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            generate(connection, DatasetSpec.fromSystemProperties(), System.out);
+        }
+    }
+
+    public static void generate(Connection connection, DatasetSpec spec, PrintStream out) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            new DatasetGenerator(spec, out).generate(connection);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze products, releases, features, favorite_features, comments, "
+                    + "feature_status_transitions, cycle_time_samples, cycle_time_histograms");
+        }
+    }
+
+    private void generate(Connection connection) throws SQLException {
+        out.println("Generating " + spec);
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        long productBase = nextIdBase(connection, "products", "product_id_seq");
+        long releaseBase = nextIdBase(connection, "releases", "release_id_seq");
+        long featureBase = nextIdBase(connection, "features", "feature_id_seq");
+        long favoriteBase = nextIdBase(connection, "favorite_features", "favorite_features_id_seq");
+        long commentBase = nextIdBase(connection, "comments", "comment_id_seq");
+        long transitionBase = nextIdBase(connection, "feature_status_transitions", "feature_status_transition_id_seq");
+
+        long started = System.nanoTime();
+        try (var products = new CopyWriter(
+                copyManager, "products", "id, code, prefix, name, description, image_url, created_by, created_at")) {
+            for (int p = 0; p < spec.products(); p++) {
+                long id = productBase + p + 1;
+                products.row(
+                        id,
+                        "product-" + id,
+                        prefix(id),
+                        "Product " + id,
+                        sentence(8),
+                        "https://example.com/products/" + id + ".png",
+                        "admin",
+                        EPOCH);
+            }
+        }
+        try (var releases = new CopyWriter(
+                copyManager,
+                "releases",
+                "id, product_id, code, description, status, released_at, created_by, created_at")) {
+            for (int p = 0; p < spec.products(); p++) {
+                long productId = productBase + p + 1;
+                for (int r = 0; r < spec.releasesPerProduct(); r++) {
+                    // releases follow each other every month, the latest one is being worked on
+                    LocalDateTime createdAt = EPOCH.plusMonths(r);
+                    boolean released = r < spec.releasesPerProduct() - 1;
+                    releases.row(
+                            releaseId(releaseBase, p, r),
+                            productId,
+                            prefix(productId) + "-" + (2020 + r / 3) + "." + (r % 3 + 1),
+                            "Release " + (r + 1) + " of product " + productId,
+                            (released ? ReleaseStatus.RELEASED : ReleaseStatus.DRAFT).name(),
+                            released ? createdAt.plusMonths(1) : null,
+                            "admin",
+                            createdAt);
+                }
+            }
+        }
+        report("products and releases", spec.products() * (spec.releasesPerProduct() + 1L), started);
+
+        started = System.nanoTime();
+        ZipfSampler productSampler = new ZipfSampler(spec.products(), spec.skew());
+        ZipfSampler userSampler = new ZipfSampler(spec.users(), spec.skew());
+        try (var features = new CopyWriter(
+                copyManager,
+                "features",
+                "id, code, title, description, status, assigned_to, product_id, release_id, created_by, created_at")) {
+            for (int f = 0; f < spec.features(); f++) {
+                long id = featureBase + f + 1;
+                int p = productSampler.sample(random);
+                long productId = productBase + p + 1;
+                Long releaseId = null;
+                FeatureStatus status = OPEN_STATUSES[random.nextInt(OPEN_STATUSES.length)];
+                // a fifth of the features are not planned for a release yet
+                if (spec.releasesPerProduct() > 0 && random.nextInt(5) > 0) {
+                    int r = random.nextInt(spec.releasesPerProduct());
+                    releaseId = releaseId(releaseBase, p, r);
+                    if (r < spec.releasesPerProduct() - 1) {
+                        status = FeatureStatus.RELEASED;
+                    }
+                }
+                features.row(
+                        id,
+                        prefix(productId) + "-" + id,
+                        capitalize(sentence(3 + random.nextInt(6))),
+                        description(),
+                        status.name(),
+                        status == FeatureStatus.NEW ? null : user(userSampler),
+                        productId,
+                        releaseId,
+                        user(userSampler),
+                        randomTimestamp());
+            }
+        }
+        report("features", spec.features(), started);
+        if (spec.features() > 0) {
+            generateFavoritesAndComments(connection, copyManager, featureBase, favoriteBase, commentBase, userSampler);
+            generateStatusHistory(connection, featureBase, transitionBase);
+        }
+
+        started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                    """
+                    insert into product_feature_counts (product_id, status, feature_count)
+                    select product_id, status, count(*) from features where product_id > %d group by product_id, status
+                    """
+                            .formatted(productBase));
+            statement.executeUpdate(
+                    """
+                    insert into release_feature_counts (release_id, status, feature_count)
+                    select release_id, status, count(*) from features where release_id > %d group by release_id, status
+                    """
+                            .formatted(releaseBase));
+            updateSequence(statement, "products", "product_id_seq");
+            updateSequence(statement, "releases", "release_id_seq");
+            updateSequence(statement, "features", "feature_id_seq");
+            updateSequence(statement, "favorite_features", "favorite_features_id_seq");
+            updateSequence(statement, "comments", "comment_id_seq");
+            updateSequence(statement, "feature_status_transitions", "feature_status_transition_id_seq");
+            // the codes of the generated features end with their id, the sequence must not hand them out again
+            updateSequence(statement, "features", "feature_code_seq");
+        }
+        report("feature counts and sequences", 0, started);
+    }
+
+    private void generateFavoritesAndComments(
+            Connection connection,
+            CopyManager copyManager,
+            long featureBase,
+            long favoriteBase,
+            long commentBase,
+            ZipfSampler userSampler)
+            throws SQLException {
+        // the most popular features are spread over the products rather than being the first ones generated
+        int[] featuresByPopularity = shuffledRange(spec.features());
+        ZipfSampler featureSampler = new ZipfSampler(spec.features(), spec.skew());
+
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "create temporary table favorite_features_load (feature_id bigint, user_id varchar(255)) on commit drop");
+        }
+        try (var favorites = new CopyWriter(copyManager, "favorite_features_load", "feature_id, user_id")) {
+            for (int i = 0; i < spec.favorites(); i++) {
+                long featureId = featureBase + featuresByPopularity[featureSampler.sample(random)] + 1;
+                favorites.row(featureId, user(userSampler));
+            }
+        }
+        long favoriteCount;
+        try (Statement statement = connection.createStatement()) {
+            favoriteCount = statement.executeUpdate(
+                    """
+                    insert into favorite_features (id, feature_id, user_id)
+                    select %d + row_number() over (), feature_id, user_id
+                    from (select distinct feature_id, user_id from favorite_features_load) f
+                    """
+                            .formatted(favoriteBase));
+        }
+        report("favorites, without duplicates", favoriteCount, started);
+
+        started = System.nanoTime();
+        try (var comments =
+                new CopyWriter(copyManager, "comments", "id, feature_id, created_by, content, created_at")) {
+            for (int i = 0; i < spec.comments(); i++) {
+                long featureId = featureBase + featuresByPopularity[featureSampler.sample(random)] + 1;
+                comments.row(
+                        commentBase + i + 1,
+                        featureId,
+                        user(userSampler),
+                        capitalize(sentence(4 + random.nextInt(40))),
+                        randomTimestamp());
+            }
+        }
+        report("comments", spec.comments(), started);
+    }
+
+    /**
+     * Adds the status transitions of the generated features that were started, and the lead and cycle time samples
+     * of the released ones, as recorded by the application. Work starts within a month of the creation of a feature
+     * and takes from a minute to three months, log-uniformly, so that the samples spread over the histogram buckets.
+     */
+    private void generateStatusHistory(Connection connection, long featureBase, long transitionBase)
+            throws SQLException {
+        long started = System.nanoTime();
+        long transitionCount;
+        try (Statement statement = connection.createStatement()) {
+            // makes random() repeatable, so that the same spec and seed still generate the same data
+            statement.execute("select setseed(%s)".formatted(random.nextDouble() * 2 - 1));
+            statement.execute(
+                    """
+                    create temporary table feature_progress_load on commit drop as
+                    select id as feature_id, status, assigned_to, started_at,
+                           started_at + interval '1 minute' * exp(random() * ln(60 * 24 * 90)) as stopped_at
+                    from (select id, status, assigned_to, created_at + interval '30 days' * random() as started_at
+                          from features
+                          where id > %d and status <> 'NEW'
+                          order by id) f
+                    """
+                            .formatted(featureBase));
+            transitionCount = statement.executeUpdate(
+                    """
+                    insert into feature_status_transitions
+                        (id, feature_id, from_status, to_status, changed_by, changed_at)
+                    select %d + row_number() over (order by feature_id, changed_at), t.*
+                    from (select feature_id, 'NEW', 'IN_PROGRESS', assigned_to, started_at as changed_at
+                          from feature_progress_load
+                          union all
+                          select feature_id, 'IN_PROGRESS', status, assigned_to, stopped_at
+                          from feature_progress_load
+                          where status <> 'IN_PROGRESS') t
+                    """
+                            .formatted(transitionBase));
+            // the same samples as CycleTimeService, and the buckets of DurationBuckets.bucketOf
+            statement.executeUpdate(
+                    """
+                    insert into cycle_time_samples (feature_id, metric, product_id, release_id, bucket)
+                    select f.id, m.metric, f.product_id, f.release_id,
+                           case when m.minutes <= 1 then 0 else least(100, ceil(ln(m.minutes) / ln(1.25))::int) end
+                    from features f
+                             join feature_progress_load p on p.feature_id = f.id
+                             join lateral (select 'LEAD_TIME' as metric,
+                                                  extract(epoch from p.stopped_at - f.created_at) / 60 as minutes
+                                           union all
+                                           select 'CYCLE_TIME', extract(epoch from p.stopped_at - p.started_at) / 60
+                                           ) m on true
+                    where f.status = 'RELEASED'
+                    """);
+            statement.executeUpdate(
+                    """
+                    insert into cycle_time_histograms (scope, scope_id, metric, bucket, sample_count)
+                    select 'PRODUCT', product_id, metric, bucket, count(*)
+                    from cycle_time_samples
+                    where feature_id > %1$d
+                    group by product_id, metric, bucket
+                    union all
+                    select 'RELEASE', release_id, metric, bucket, count(*)
+                    from cycle_time_samples
+                    where feature_id > %1$d and release_id is not null
+                    group by release_id, metric, bucket
+                    """
+                            .formatted(featureBase));
+        }
+        report("status transitions and samples", transitionCount, started);
+    }
+
+    /**
+     * Returns the id after which new rows can be inserted: above the existing rows and above the ids that a running
+     * application may have reserved from the sequence.
+     */
+    private static long nextIdBase(Connection connection, String table, String sequence) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("select greatest((select coalesce(max(id), 0) from " + table
+                        + "), (select last_value from " + sequence + "))")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void updateSequence(Statement statement, String table, String sequence) throws SQLException {
+        statement.execute("select setval('" + sequence + "', greatest((select max(id) from " + table
+                + "), (select last_value from " + sequence + ")))");
+    }
+
+    private long releaseId(long releaseBase, int product, int release) {
+        return releaseBase + (long) product * spec.releasesPerProduct() + release + 1;
+    }
+
+    private static String prefix(long productId) {
+        return "P" + productId;
+    }
+
+    private String user(ZipfSampler userSampler) {
+        return "user-" + (userSampler.sample(random) + 1);
+    }
+
+    private String description() {
+        // mostly short descriptions, with a long tail of detailed ones
+        int words = random.nextInt(20) == 0 ? 200 + random.nextInt(400) : 10 + random.nextInt(60);
+        return capitalize(sentence(words));
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private LocalDateTime randomTimestamp() {
+        return EPOCH.plusSeconds(random.nextLong(Duration.ofDays(3 * 365).toSeconds()));
+    }
+
+    private int[] shuffledRange(int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    private void report(String what, long rows, long startedNanos) {
+        long millis = Duration.ofNanos(System.nanoTime() - startedNanos).toMillis();
+        out.printf("  %-30s %,12d rows in %,8d ms%n", what, rows, millis);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sivalabs.ft.features.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class DatasetGeneratorTests extends AbstractIT {
+    private static final DatasetSpec SPEC = new DatasetSpec(3, 4, 200, 20, 300, 100, 1.1, 7L);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldGenerateDataSetUsableByTheApplication() throws Exception {
+        long products = count("select count(*) from products");
+        long releases = count("select count(*) from releases");
+        long features = count("select count(*) from features");
+        long comments = count("select count(*) from comments");
+        long favorites = count("select count(*) from favorite_features");
+        long productFeatureCounts = count("select coalesce(sum(feature_count), 0) from product_feature_counts");
+        long releaseFeatureCounts = count("select coalesce(sum(feature_count), 0) from release_feature_counts");
+        long maxFeatureId = count("select max(id) from features");
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatasetGenerator.generate(connection, SPEC, new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        assertThat(count("select count(*) from products")).isEqualTo(products + 3);
+        assertThat(count("select count(*) from releases")).isEqualTo(releases + 12);
+        assertThat(count("select count(*) from features")).isEqualTo(features + 200);
+        assertThat(count("select count(*) from comments")).isEqualTo(comments + 100);
+        assertThat(count("select count(*) from favorite_features")).isBetween(favorites + 1, favorites + 300);
+        assertThat(count("select coalesce(sum(feature_count), 0) from product_feature_counts"))
+                .isEqualTo(productFeatureCounts + 200);
+        assertThat(count("select coalesce(sum(feature_count), 0) from release_feature_counts"))
+                .isEqualTo(releaseFeatureCounts
+                        + count("select count(*) from features where id > %d and release_id is not null"
+                                .formatted(maxFeatureId)));
+
+        long released =
+                count("select count(*) from features where id > %d and status = 'RELEASED'".formatted(maxFeatureId));
+        assertThat(released).isPositive();
+        assertThat(count("select count(*) from cycle_time_samples where feature_id > %d".formatted(maxFeatureId)))
+                .isEqualTo(2 * released);
+        assertThat(count("select coalesce(sum(sample_count), 0) from cycle_time_histograms where scope = 'PRODUCT'"))
+                .isEqualTo(count("select count(*) from cycle_time_samples"));
+        assertThat(count("select last_value from feature_code_seq"))
+                .isGreaterThanOrEqualTo(count("select max(id) from features"));
+
+        String productCode = jdbcClient
+                .sql("select code from products order by id desc limit 1")
+                .query(String.class)
+                .single();
+        var result = mvc.post()
+                .uri("/api/features")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                        """
+                {
+                    "productCode": "%s",
+                    "title": "Feature after the data set",
+                    "description": "Gets a new code"
+                }
+                """
+                                .formatted(productCode))
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.CREATED);
+    }
+
+    private long count(String sql) {
+        return jdbcClient.sql(sql).query(Long.class).single();
+    }
+}
@@ -0,0 +1,36 @@
+package com.sivalabs.ft.features.dataset;
+
+/**
+ * Size and shape of a generated data set, read from {@code dataset.*} system properties.
+ *
+ * @param products number of products
+ * @param releasesPerProduct number of releases of each product
+ * @param features number of features, spread over the products with a Zipf distribution
+ * @param users number of distinct users creating, being assigned, favoriting and commenting features
+ * @param favorites number of favorite features to generate, duplicates are dropped
+ * @param comments number of comments
+ * @param skew exponent of the Zipf distributions, 0 for uniform, around 1 for the usual popularity skew
+ * @param seed seed of the random generator, the same spec and seed always generate the same data
+ */
+public record DatasetSpec(
+        int products,
+        int releasesPerProduct,
+        int features,
+        int users,
+        int favorites,
+        int comments,
+        double skew,
+        long seed) {
+
+    public static DatasetSpec fromSystemProperties() {
+        return new DatasetSpec(
+                Integer.getInteger("dataset.products", 20),
+                Integer.getInteger("dataset.releases-per-product", 10),
+                Integer.getInteger("dataset.features", 1_000_000),
+                Integer.getInteger("dataset.users", 10_000),
+                Integer.getInteger("dataset.favorites", 2_000_000),
+                Integer.getInteger("dataset.comments", 3_000_000),
+                Double.parseDouble(System.getProperty("dataset.skew", "1.1")),
+                Long.getLong("dataset.seed", 42L));
+    }
+}
@@ -0,0 +1,40 @@
+package com.sivalabs.ft.features.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ZipfSamplerTest {
+
+    @Test
+    void shouldFavorTheFirstRanks() {
+        var sampler = new ZipfSampler(1000, 1.1);
+        var random = new SplittableRandom(42);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[999] * 100);
+        int top10 = 0;
+        for (int k = 0; k < 10; k++) {
+            top10 += counts[k];
+        }
+        assertThat(top10).isGreaterThan(40_000);
+    }
+
+    @Test
+    void shouldBeUniformWithoutSkew() {
+        var sampler = new ZipfSampler(10, 0);
+        var random = new SplittableRandom(42);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        assertThat(IntStream.of(counts).boxed())
+                .allSatisfy(count -> assertThat(count).isBetween(9_000, 11_000));
+    }
+}
@@ -0,0 +1,119 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<String, String> singleFlight =
+            new SingleFlight<>("test", generation::get, meterRegistry);
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.load("key", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "value";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        var follower = CompletableFuture.supplyAsync(() -> singleFlight.load("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        while (coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldNotShareLoadStartedAtAnOlderGeneration() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.load("key", () -> {
+            loading.countDown();
+            await(release);
+            return "before the change";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        generation.incrementAndGet();
+
+        assertThat(singleFlight.load("key", () -> "after the change")).isEqualTo("after the change");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("before the change");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void shouldNotSharePinnedToPrimaryLoads() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.load("key", () -> {
+            loading.countDown();
+            await(release);
+            return "from a replica";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        PrimaryReads.pin();
+        try {
+            assertThat(singleFlight.load("key", () -> "from the primary")).isEqualTo("from the primary");
+        } finally {
+            PrimaryReads.unpin();
+        }
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("from a replica");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void shouldLoadAgainOnceThePreviousLoadCompleted() {
+        assertThat(singleFlight.load("key", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.load("key", () -> "second")).isEqualTo("second");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureAndNotKeepIt() {
+        assertThatThrownBy(() -> singleFlight.load("key", () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.load("key", () -> "value")).isEqualTo("value");
+    }
+
+    private double coalesced() {
+        return meterRegistry
+                .get("ft.singleflight.loads")
+                .tag("role", "COALESCED")
+                .counter()
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
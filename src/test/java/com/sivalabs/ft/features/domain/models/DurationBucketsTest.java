@@ -0,0 +1,28 @@
+package com.sivalabs.ft.features.domain.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class DurationBucketsTest {
+
+    @Test
+    void shouldReportUpperBoundsWithin25PercentOfTheDuration() {
+        for (long seconds = 61; seconds < 1_000_000; seconds += 7) {
+            Duration duration = Duration.ofSeconds(seconds);
+            double minutes = seconds / 60.0;
+            double upperBound = DurationBuckets.upperBoundMinutes(DurationBuckets.bucketOf(duration));
+
+            assertThat(upperBound).isGreaterThanOrEqualTo(minutes * 0.999_999).isLessThanOrEqualTo(minutes * 1.25);
+        }
+    }
+
+    @Test
+    void shouldPutShortDurationsInTheFirstBucket() {
+        assertThat(DurationBuckets.bucketOf(Duration.ofSeconds(45))).isZero();
+        assertThat(DurationBuckets.bucketOf(Duration.ofSeconds(-5))).isZero();
+        assertThat(DurationBuckets.upperBoundMinutes(0)).isEqualTo(1.0);
+        assertThat(DurationBuckets.upperBoundMinutes(1)).isEqualTo(1.25);
+    }
+}
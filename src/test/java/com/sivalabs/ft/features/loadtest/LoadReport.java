@@ -0,0 +1,142 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and response statuses of the requests of each scenario.
+ * A status of -1 stands for a request that failed without a response, e.g. a timeout.
+ */
+final class LoadReport {
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String SUMMARY_HEADER =
+            "timestamp,label,scenario,requests,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, Map<Integer, LongAdder>> statuses = new EnumMap<>(Scenario.class);
+
+    LoadReport() {
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder(HIGHEST_TRACKABLE_LATENCY, 3));
+            statuses.put(scenario, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Scenario scenario, int status, long latencyNanos) {
+        recorders.get(scenario).recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_LATENCY));
+        statuses.get(scenario).computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discards what was recorded so far, e.g. during the warmup.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        statuses.values().forEach(Map::clear);
+    }
+
+    /**
+     * Prints the percentiles and throughput of the run, appends them to {@code summary.csv} so that runs of different
+     * builds can be compared, and writes the full latency distribution of each scenario to
+     * {@code <label>/<scenario>.hgrm}.
+     */
+    void write(String label, Duration elapsed, Path directory, PrintStream out) throws IOException {
+        Path runDirectory = directory.resolve(label);
+        Files.createDirectories(runDirectory);
+        Path summary = directory.resolve("summary.csv");
+        if (!Files.exists(summary)) {
+            Files.writeString(summary, SUMMARY_HEADER + System.lineSeparator());
+        }
+        double seconds = elapsed.toMillis() / 1000.0;
+        String timestamp = Instant.now().toString();
+        StringBuilder csv = new StringBuilder();
+
+        out.printf(
+                "%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Scenario scenario : Scenario.values()) {
+            Histogram histogram = recorders.get(scenario).getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            long errors = errors(scenario);
+            double throughput = requests / seconds;
+            double p50 = percentile(histogram, 50);
+            double p90 = percentile(histogram, 90);
+            double p99 = percentile(histogram, 99);
+            double p999 = percentile(histogram, 99.9);
+            double max = histogram.getMaxValue() / NANOS_PER_MILLI;
+            out.printf(
+                    Locale.ROOT,
+                    "%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario,
+                    requests,
+                    errors,
+                    throughput,
+                    p50,
+                    p90,
+                    p99,
+                    p999,
+                    max);
+            csv.append(String.format(
+                    Locale.ROOT,
+                    "%s,%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                    timestamp,
+                    label,
+                    scenario,
+                    requests,
+                    errors,
+                    throughput,
+                    p50,
+                    p90,
+                    p99,
+                    p999,
+                    max));
+            try (var hgrm = new PrintStream(
+                    Files.newOutputStream(runDirectory.resolve(scenario.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+            }
+        }
+        out.println("status codes: " + statusCodes());
+        Files.writeString(summary, csv, StandardOpenOption.APPEND);
+    }
+
+    private long errors(Scenario scenario) {
+        return statuses.get(scenario).entrySet().stream()
+                .filter(e -> e.getKey() < 200 || e.getKey() >= 400)
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    private Map<String, Map<Integer, Long>> statusCodes() {
+        Map<String, Map<Integer, Long>> codes = new TreeMap<>();
+        statuses.forEach((scenario, counts) -> {
+            if (!counts.isEmpty()) {
+                Map<Integer, Long> scenarioCodes = new TreeMap<>();
+                counts.forEach((status, count) -> scenarioCodes.put(status, count.sum()));
+                codes.put(scenario.name(), scenarioCodes);
+            }
+        });
+        return codes;
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,202 @@
+package com.sivalabs.ft.features.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.FeatureServiceApplication;
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.dataset.DatasetGenerator;
+import com.sivalabs.ft.features.dataset.DatasetSpec;
+import com.sivalabs.ft.features.domain.CatalogVersion;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Sends a weighted mix of {@link Scenario scenarios} from virtual threads and reports the latency percentiles and the
+ * throughput of each of them, see {@link LoadTestOptions} for the options.
+ * <p>
+ * Without {@code loadtest.target}, the application is started with Testcontainers and {@link
+ * LoadTestSecurityConfiguration} in place of Keycloak, and the scenarios run against the sample data, plus a generated
+ * data set with {@code loadtest.dataset=true}.
+ * <p>
+ * With {@code loadtest.rate}, requests are sent on a fixed schedule and latencies are measured from the time a request
+ * was due, so that a slow response also counts against the requests it delayed.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        URI target = options.target();
+        if (target == null) {
+            application = startApplication();
+            if (Boolean.getBoolean("loadtest.dataset")) {
+                loadDataset(application);
+            }
+            target = URI.create(
+                    "http://localhost:" + application.getEnvironment().getProperty("local.server.port"));
+        }
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+            LoadTestData data = LoadTestData.discover(client, objectMapper, target, options.token(), options.users());
+            System.out.printf(
+                    "Load test '%s' against %s: %d threads, %s, %d features, mix %s%n",
+                    options.label(),
+                    target,
+                    options.concurrency(),
+                    options.rate() > 0 ? options.rate() + " req/s" : "closed loop",
+                    data.featureCount(),
+                    options.mix());
+
+            LoadReport report = new LoadReport();
+            run(client, objectMapper, data, options, report, options.warmup());
+            report.reset();
+            run(client, objectMapper, data, options, report, options.duration());
+            report.write(options.label(), options.duration(), options.reportDirectory(), System.out);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        return SpringApplication.from(FeatureServiceApplication::main)
+                .with(TestcontainersConfiguration.class, LoadTestSecurityConfiguration.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--ft.rate-limit.enabled=false",
+                        "--ft.config-snapshot.enabled=false")
+                .getApplicationContext();
+    }
+
+    /**
+     * Adds a {@link DatasetGenerator generated data set} to the sample data of the started application.
+     */
+    private static void loadDataset(ConfigurableApplicationContext application) throws SQLException {
+        try (Connection connection = application.getBean(DataSource.class).getConnection()) {
+            DatasetGenerator.generate(connection, DatasetSpec.fromSystemProperties(), System.out);
+        }
+        // nothing should be cached yet, but the board reads must not be served from a cache filled before the load
+        application
+                .getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getCache()
+                .evictAllRegions();
+        application.getBean(CatalogVersion.class).changed();
+    }
+
+    private static void run(
+            HttpClient client,
+            ObjectMapper objectMapper,
+            LoadTestData data,
+            LoadTestOptions options,
+            LoadReport report,
+            Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        ScenarioMix mix = new ScenarioMix(options.mix());
+        long end = System.nanoTime() + duration.toNanos();
+        long interval = options.rate() > 0 ? (long) (options.concurrency() * 1_000_000_000L / options.rate()) : 0;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                executor.submit(() -> {
+                    sendRequests(client, objectMapper, data, mix, report, end, interval);
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static void sendRequests(
+            HttpClient client,
+            ObjectMapper objectMapper,
+            LoadTestData data,
+            ScenarioMix mix,
+            LoadReport report,
+            long end,
+            long interval)
+            throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // spreads the first requests of the threads over an interval
+        long next = System.nanoTime() + (interval > 0 ? random.nextLong(interval) : 0);
+        while (true) {
+            long due = interval > 0 ? next : System.nanoTime();
+            if (due >= end) {
+                return;
+            }
+            if (interval > 0) {
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                next += interval;
+            }
+            Scenario scenario = mix.next(random);
+            int status;
+            try {
+                status = client.send(
+                                scenario.request(data, objectMapper, random), HttpResponse.BodyHandlers.discarding())
+                        .statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            report.record(scenario, status, System.nanoTime() - due);
+        }
+    }
+
+    /**
+     * Picks scenarios at random according to their weights.
+     */
+    private static final class ScenarioMix {
+        private final List<Scenario> scenarios = new ArrayList<>();
+        private final List<Integer> cumulativeWeights = new ArrayList<>();
+        private final int totalWeight;
+
+        ScenarioMix(Map<Scenario, Integer> weights) {
+            int total = 0;
+            for (var entry : weights.entrySet()) {
+                if (entry.getValue() > 0) {
+                    total += entry.getValue();
+                    scenarios.add(entry.getKey());
+                    cumulativeWeights.add(total);
+                }
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("No scenario has a positive weight: " + weights);
+            }
+            this.totalWeight = total;
+        }
+
+        Scenario next(ThreadLocalRandom random) {
+            int value = random.nextInt(totalWeight);
+            for (int i = 0; i < scenarios.size(); i++) {
+                if (value < cumulativeWeights.get(i)) {
+                    return scenarios.get(i);
+                }
+            }
+            throw new IllegalStateException("Weight " + value + " out of " + totalWeight);
+        }
+    }
+}
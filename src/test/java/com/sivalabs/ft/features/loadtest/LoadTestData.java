@@ -0,0 +1,131 @@
+package com.sivalabs.ft.features.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The products and features the scenarios send requests for, discovered from the target, and the state the scenarios
+ * keep between requests.
+ */
+final class LoadTestData {
+    private final URI baseUri;
+    private final String token;
+    private final List<String> productCodes;
+    private final List<Feature> features;
+    private final List<String> users;
+    private final Set<String> favorites = ConcurrentHashMap.newKeySet();
+
+    record Feature(
+            String code,
+            String title,
+            String description,
+            FeatureStatus status,
+            String releaseCode,
+            String assignedTo) {}
+
+    private LoadTestData(
+            URI baseUri, String token, List<String> productCodes, List<Feature> features, List<String> users) {
+        this.baseUri = baseUri;
+        this.token = token;
+        this.productCodes = productCodes;
+        this.features = features;
+        this.users = users;
+    }
+
+    static LoadTestData discover(HttpClient client, ObjectMapper objectMapper, URI baseUri, String token, int users)
+            throws IOException, InterruptedException {
+        List<String> productCodes = new ArrayList<>();
+        for (JsonNode product : get(client, objectMapper, baseUri.resolve("/api/products"))) {
+            productCodes.add(product.get("code").asText());
+        }
+        List<Feature> features = new ArrayList<>();
+        for (String productCode : productCodes) {
+            URI uri = baseUri.resolve("/api/features?productCode=" + productCode);
+            for (JsonNode feature : get(client, objectMapper, uri)) {
+                features.add(new Feature(
+                        feature.get("code").asText(),
+                        feature.get("title").asText(),
+                        textOrNull(feature, "description"),
+                        FeatureStatus.valueOf(feature.get("status").asText()),
+                        textOrNull(feature, "releaseCode"),
+                        textOrNull(feature, "assignedTo")));
+            }
+        }
+        if (productCodes.isEmpty() || features.isEmpty()) {
+            throw new IllegalStateException("No products or features found at " + baseUri);
+        }
+        List<String> userNames = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            userNames.add("loadtest-user-" + i);
+        }
+        return new LoadTestData(baseUri, token, List.copyOf(productCodes), List.copyOf(features), userNames);
+    }
+
+    URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+
+    String randomProductCode(ThreadLocalRandom random) {
+        return productCodes.get(random.nextInt(productCodes.size()));
+    }
+
+    Feature randomFeature(ThreadLocalRandom random) {
+        return features.get(random.nextInt(features.size()));
+    }
+
+    String randomUser(ThreadLocalRandom random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    /**
+     * Returns the Authorization header value for the given user: the configured token when one is set, otherwise the
+     * user name, which the instance started by {@link LoadTest} accepts as a token.
+     */
+    String authorization(String user) {
+        return "Bearer " + (token != null ? token : user);
+    }
+
+    /**
+     * Flips the favorite state of the feature for the user.
+     *
+     * @return true if the feature is now a favorite of the user
+     */
+    boolean toggleFavorite(String user, String featureCode) {
+        String key = user + "/" + featureCode;
+        if (favorites.add(key)) {
+            return true;
+        }
+        favorites.remove(key);
+        return false;
+    }
+
+    int featureCount() {
+        return features.size();
+    }
+
+    private static JsonNode get(HttpClient client, ObjectMapper objectMapper, URI uri)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response =
+                client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
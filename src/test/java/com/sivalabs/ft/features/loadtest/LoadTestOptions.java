@@ -0,0 +1,71 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, read from {@code loadtest.*} system properties.
+ *
+ * @param target base URI of an already running instance, or null to start one with Testcontainers
+ * @param token bearer token sent to the target; the started instance accepts any user name as token
+ * @param duration how long the measured run lasts
+ * @param warmup how long requests are sent, and not recorded, before the measured run
+ * @param concurrency number of virtual threads sending requests
+ * @param rate requests per second over all the threads, 0 to send the next request as soon as a response arrives
+ * @param users number of distinct users the requests are sent for
+ * @param mix relative weight of each scenario
+ * @param label name of the run in the reports, e.g. the build or branch being measured
+ * @param reportDirectory directory the reports are written to
+ */
+record LoadTestOptions(
+        URI target,
+        String token,
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        double rate,
+        int users,
+        Map<Scenario, Integer> mix,
+        String label,
+        Path reportDirectory) {
+
+    static LoadTestOptions fromSystemProperties() {
+        String target = System.getProperty("loadtest.target");
+        return new LoadTestOptions(
+                target == null ? null : URI.create(target),
+                System.getProperty("loadtest.token"),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT15S")),
+                Integer.parseInt(System.getProperty("loadtest.concurrency", "32")),
+                Double.parseDouble(System.getProperty("loadtest.rate", "0")),
+                Integer.parseInt(System.getProperty("loadtest.users", "50")),
+                parseMix(System.getProperty("loadtest.mix")),
+                System.getProperty("loadtest.label", "local"),
+                Path.of(System.getProperty("loadtest.report-directory", "target/load-test")));
+    }
+
+    /**
+     * Parses a mix such as {@code BOARD_READ=80,FAVORITE_TOGGLE=10,ADD_COMMENT=5,UPDATE_FEATURE=5}. Scenarios left out
+     * are not run. Without a mix, the default weight of each scenario is used.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        if (mix == null || mix.isBlank()) {
+            for (Scenario scenario : Scenario.values()) {
+                weights.put(scenario, scenario.defaultWeight());
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid scenario weight '" + entry + "', expected SCENARIO=weight");
+            }
+            weights.put(Scenario.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sivalabs.ft.features.loadtest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Stands in for Keycloak in the instance started by {@link LoadTest}: a bearer token is the name of the user it
+ * authenticates.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestSecurityConfiguration {
+
+    @Bean
+    @Primary
+    JwtDecoder loadTestJwtDecoder() {
+        return token -> Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject(token)
+                .claim("preferred_username", token)
+                .claim("realm_access", Map.of("roles", List.of("ROLE_USER")))
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+    }
+}
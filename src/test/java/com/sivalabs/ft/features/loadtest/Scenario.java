@@ -0,0 +1,85 @@
+package com.sivalabs.ft.features.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.api.models.AddCommentPayload;
+import com.sivalabs.ft.features.api.models.UpdateFeaturePayload;
+import java.net.http.HttpRequest;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The requests a load test sends, mirroring the traffic of the feature boards: mostly anonymous board reads with some
+ * favorite toggles, comments and feature updates.
+ */
+enum Scenario {
+    BOARD_READ(80) {
+        @Override
+        HttpRequest request(LoadTestData data, ObjectMapper objectMapper, ThreadLocalRandom random) {
+            return HttpRequest.newBuilder(data.uri("/api/features?productCode=" + data.randomProductCode(random)))
+                    .GET()
+                    .build();
+        }
+    },
+    FAVORITE_TOGGLE(10) {
+        @Override
+        HttpRequest request(LoadTestData data, ObjectMapper objectMapper, ThreadLocalRandom random) {
+            String user = data.randomUser(random);
+            String featureCode = data.randomFeature(random).code();
+            var builder = HttpRequest.newBuilder(data.uri("/api/features/" + featureCode + "/favorites"))
+                    .header("Authorization", data.authorization(user));
+            return data.toggleFavorite(user, featureCode)
+                    ? builder.POST(HttpRequest.BodyPublishers.noBody()).build()
+                    : builder.DELETE().build();
+        }
+    },
+    ADD_COMMENT(5) {
+        @Override
+        HttpRequest request(LoadTestData data, ObjectMapper objectMapper, ThreadLocalRandom random)
+                throws JsonProcessingException {
+            var payload =
+                    new AddCommentPayload(data.randomFeature(random).code(), "Load test comment " + UUID.randomUUID());
+            return json(data, data.randomUser(random))
+                    .uri(data.uri("/api/comments"))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
+                    .build();
+        }
+    },
+    UPDATE_FEATURE(5) {
+        @Override
+        HttpRequest request(LoadTestData data, ObjectMapper objectMapper, ThreadLocalRandom random)
+                throws JsonProcessingException {
+            // writes the values read at startup back, so that the data set does not drift during the run
+            LoadTestData.Feature feature = data.randomFeature(random);
+            var payload = new UpdateFeaturePayload(
+                    feature.title(),
+                    feature.description(),
+                    feature.releaseCode(),
+                    feature.assignedTo(),
+                    feature.status());
+            return json(data, data.randomUser(random))
+                    .uri(data.uri("/api/features/" + feature.code()))
+                    .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
+                    .build();
+        }
+    };
+
+    private final int defaultWeight;
+
+    Scenario(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    abstract HttpRequest request(LoadTestData data, ObjectMapper objectMapper, ThreadLocalRandom random)
+            throws JsonProcessingException;
+
+    private static HttpRequest.Builder json(LoadTestData data, String user) {
+        return HttpRequest.newBuilder()
+                .header("Authorization", data.authorization(user))
+                .header("Content-Type", "application/json");
+    }
+}
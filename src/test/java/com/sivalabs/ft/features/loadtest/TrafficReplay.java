@@ -0,0 +1,216 @@
+package com.sivalabs.ft.features.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.api.CapturedRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Replays the requests recorded by {@code TrafficCaptureFilter} against a target instance, with the same spacing as
+ * when they were recorded, or scaled by {@code replay.speed}, and compares the statuses and latencies with the
+ * recorded ones, per endpoint.
+ * <p>
+ * Requests are sent on schedule from virtual threads whatever the response times, and latencies are measured from
+ * the time a request was due. The requests of a user are sent with the user pseudonym as bearer token, which the
+ * instance started by {@link LoadTest} accepts, unless {@code replay.token} is given.
+ * <p>
+ * Options, as system properties: {@code replay.file} (default {@code traffic/capture.ndjson}), {@code replay.target}
+ * (default {@code http://localhost:8081}), {@code replay.speed} (default 1, 0 to send the requests without waiting),
+ * {@code replay.token}, {@code replay.label} and {@code replay.report-directory} (default {@code target/replay}).
+ */
+public final class TrafficReplay {
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private TrafficReplay() {}
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(System.getProperty("replay.file", "traffic/capture.ndjson"));
+        URI target = URI.create(System.getProperty("replay.target", "http://localhost:8081"));
+        double speed = Double.parseDouble(System.getProperty("replay.speed", "1"));
+        String token = System.getProperty("replay.token");
+        String label = System.getProperty("replay.label", "replay");
+        Path reportDirectory = Path.of(System.getProperty("replay.report-directory", "target/replay"));
+
+        List<CapturedRequest> requests = read(file, new ObjectMapper().findAndRegisterModules());
+        System.out.printf("Replaying %d requests of %s against %s at speed %s%n", requests.size(), file, target, speed);
+        TrafficReplay replay = new TrafficReplay();
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            replay.replay(client, requests, target, speed, token);
+        }
+        replay.report(label, reportDirectory, System.out);
+    }
+
+    static List<CapturedRequest> read(Path file, ObjectMapper objectMapper) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    requests.add(objectMapper.readValue(line, CapturedRequest.class));
+                }
+            }
+        }
+        requests.sort((a, b) -> a.timestamp().compareTo(b.timestamp()));
+        return requests;
+    }
+
+    private void replay(HttpClient client, List<CapturedRequest> requests, URI target, double speed, String token) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        long firstTimestamp = toNanos(requests.getFirst());
+        long start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedRequest request : requests) {
+                long offset = speed > 0 ? (long) ((toNanos(request) - firstTimestamp) / speed) : 0;
+                long due = start + offset;
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.submit(() -> send(client, request, target, token, due));
+            }
+        }
+    }
+
+    private void send(HttpClient client, CapturedRequest captured, URI target, String token, long due) {
+        String pathAndQuery = captured.query() == null ? captured.path() : captured.path() + "?" + captured.query();
+        var builder = HttpRequest.newBuilder(target.resolve(pathAndQuery));
+        if (captured.user() != null || token != null) {
+            builder.header("Authorization", "Bearer " + (token != null ? token : captured.user()));
+        }
+        if (captured.body() != null) {
+            builder.header("Content-Type", captured.contentType());
+            builder.method(captured.method(), HttpRequest.BodyPublishers.ofString(captured.body()));
+        } else {
+            builder.method(captured.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        int status;
+        try {
+            status = client.send(builder.build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long latency = System.nanoTime() - due;
+        endpoints
+                .computeIfAbsent(endpoint(captured.method(), captured.path()), e -> new Endpoint())
+                .record(captured, status, latency);
+    }
+
+    /**
+     * Groups the requests by method and path, with the resource id, the third segment of {@code /api/<resource>/<id>},
+     * replaced by a placeholder.
+     */
+    static String endpoint(String method, String path) {
+        String[] segments = path.split("/");
+        if (segments.length > 3 && "api".equals(segments[1])) {
+            segments[3] = "{id}";
+        }
+        return method + " " + String.join("/", segments);
+    }
+
+    private void report(String label, Path directory, PrintStream out) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder csv = new StringBuilder(
+                "endpoint,requests,status_mismatches,errors,recorded_p50_ms,replayed_p50_ms,recorded_p99_ms,replayed_p99_ms\n");
+        out.printf(
+                "%n%-45s %8s %10s %7s %14s %14s%n",
+                "endpoint", "requests", "mismatches", "errors", "p50 ms rec/rep", "p99 ms rec/rep");
+        for (var entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            double recordedP50 = percentile(endpoint.recorded, 50);
+            double replayedP50 = percentile(endpoint.replayed, 50);
+            double recordedP99 = percentile(endpoint.recorded, 99);
+            double replayedP99 = percentile(endpoint.replayed, 99);
+            out.printf(
+                    Locale.ROOT,
+                    "%-45s %8d %10d %7d %6.1f/%7.1f %6.1f/%7.1f%n",
+                    entry.getKey(),
+                    endpoint.replayed.getTotalCount(),
+                    endpoint.mismatches.sum(),
+                    endpoint.errors.sum(),
+                    recordedP50,
+                    replayedP50,
+                    recordedP99,
+                    replayedP99);
+            csv.append(String.format(
+                    Locale.ROOT,
+                    "\"%s\",%d,%d,%d,%.2f,%.2f,%.2f,%.2f%n",
+                    entry.getKey(),
+                    endpoint.replayed.getTotalCount(),
+                    endpoint.mismatches.sum(),
+                    endpoint.errors.sum(),
+                    recordedP50,
+                    replayedP50,
+                    recordedP99,
+                    replayedP99));
+            endpoint.statusChanges.forEach((change, count) -> out.printf("    status %s: %d%n", change, count.sum()));
+        }
+        Files.writeString(directory.resolve(label + ".csv"), csv);
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private static long toNanos(CapturedRequest request) {
+        return TimeUnit.SECONDS.toNanos(request.timestamp().getEpochSecond())
+                + request.timestamp().getNano();
+    }
+
+    /**
+     * Recorded and replayed latencies and statuses of the requests of an endpoint. A status of -1 stands for a
+     * request that failed without a response.
+     */
+    private static final class Endpoint {
+        private final Histogram recorded = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, 3);
+        private final Histogram replayed = new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY, 3);
+        private final LongAdder mismatches = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, LongAdder> statusChanges = new ConcurrentHashMap<>();
+
+        void record(CapturedRequest captured, int status, long latencyNanos) {
+            recorded.recordValue(
+                    Math.min(TimeUnit.MICROSECONDS.toNanos(captured.durationMicros()), HIGHEST_TRACKABLE_LATENCY));
+            replayed.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_LATENCY));
+            if (status != captured.status()) {
+                mismatches.increment();
+                statusChanges
+                        .computeIfAbsent(captured.status() + " -> " + status, s -> new LongAdder())
+                        .increment();
+            }
+            if (status < 200 || status >= 400) {
+                errors.increment();
+            }
+        }
+    }
+}
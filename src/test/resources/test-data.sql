@@ -1,3 +1,9 @@
+delete from idempotency_keys;
+delete from product_feature_counts;
+delete from release_feature_counts;
+delete from cycle_time_histograms;
+delete from cycle_time_samples;
+delete from feature_status_transitions;
 delete from favorite_features;
 delete from comments;
 delete from features;
@@ -33,4 +39,10 @@ insert into favorite_features (id, feature_id, user_id) values
 insert into comments (id, feature_id, created_by, content) values
 (1, 1, 'user', 'This is a comment on feature IDEA-1'),
 (2,  1, 'user', 'This is a comment on feature IDEA-2'),
-(3, 1, 'user', 'This is a comment on feature GO-3');
\ No newline at end of file
+(3, 1, 'user', 'This is a comment on feature GO-3');
+
+insert into product_feature_counts (product_id, status, feature_count)
+select product_id, status, count(*) from features group by product_id, status;
+
+insert into release_feature_counts (release_id, status, feature_count)
+select release_id, status, count(*) from features where release_id is not null group by release_id, status;